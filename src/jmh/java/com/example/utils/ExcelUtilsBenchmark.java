@@ -0,0 +1,140 @@
+package com.example.utils;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the ExcelUtils read paths
+ * Synthetic workbooks are generated per trial with a mix of string, whole number, decimal,
+ * boolean and date columns. Run with {@code mvn -Pbenchmark test-compile exec:exec@run-benchmarks};
+ * results include throughput, sample-time percentiles and, through {@code -prof gc}, allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dexcel.snapshot.enabled=false")
+public class ExcelUtilsBenchmark {
+
+    private static final String SHEET_NAME = "Data";
+
+    @Param({"1000", "50000"})
+    public int rows;
+
+    @Param({"5", "25"})
+    public int columns;
+
+    @Param({"xlsx", "xls"})
+    public String format;
+
+    private Path directory;
+    private String filePath;
+
+    @Setup(Level.Trial)
+    public void createWorkbook() throws IOException {
+        directory = Files.createTempDirectory("excel-benchmark");
+        filePath = directory.resolve("data." + format).toString();
+
+        try (Workbook workbook = "xlsx".equals(format) ? new SXSSFWorkbook(200) : new HSSFWorkbook();
+             FileOutputStream out = new FileOutputStream(filePath)) {
+            Sheet sheet = workbook.createSheet(SHEET_NAME);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row header = sheet.createRow(0);
+            for (int column = 0; column < columns; column++) {
+                header.createCell(column).setCellValue("column" + column);
+            }
+            for (int rowIndex = 1; rowIndex <= rows; rowIndex++) {
+                Row row = sheet.createRow(rowIndex);
+                for (int column = 0; column < columns; column++) {
+                    switch (column % 5) {
+                        case 0 -> row.createCell(column).setCellValue("value-" + rowIndex + "-" + column);
+                        case 1 -> row.createCell(column).setCellValue(rowIndex);
+                        case 2 -> row.createCell(column).setCellValue(rowIndex * 1.25);
+                        case 3 -> row.createCell(column).setCellValue(rowIndex % 2 == 0);
+                        default -> {
+                            row.createCell(column).setCellValue(new Date(rowIndex * 86_400_000L));
+                            row.getCell(column).setCellStyle(dateStyle);
+                        }
+                    }
+                }
+            }
+            workbook.write(out);
+            if (workbook instanceof SXSSFWorkbook streaming) {
+                streaming.dispose();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkbook() throws IOException {
+        Files.deleteIfExists(Path.of(filePath));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Map<Integer, Map<String, String>> readExcelToMapOfMaps() throws IOException {
+        return ExcelUtils.readExcelToMapOfMaps(filePath, SHEET_NAME);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> readExcelToListOfMaps() throws IOException {
+        return ExcelUtils.readExcelToListOfMaps(filePath, SHEET_NAME);
+    }
+
+    @Benchmark
+    public void streamExcelRows(Blackhole blackhole) throws IOException {
+        ExcelUtils.streamExcelRows(filePath, SHEET_NAME, (rowNumber, row) -> blackhole.consume(row));
+    }
+
+    @Benchmark
+    public Map<String, String> readExcelRowCold() throws IOException {
+        // Measures the first lookup of a sheet, including building its table
+        ExcelDataCache.getInstance().clear();
+        return ExcelUtils.readExcelRow(filePath, SHEET_NAME, rows / 2);
+    }
+
+    @Benchmark
+    public Map<String, String> readExcelRowCached() throws IOException {
+        return ExcelUtils.readExcelRow(filePath, SHEET_NAME, rows / 2);
+    }
+
+    @Benchmark
+    public List<String> getSheetNames() throws IOException {
+        return ExcelUtils.getSheetNames(filePath);
+    }
+
+    @Benchmark
+    public int getRowCount() throws IOException {
+        return ExcelUtils.getRowCount(filePath, SHEET_NAME);
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.abilities;
+
+import net.serenitybdd.screenplay.Ability;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.InvalidCookieDomainException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnableToSetCookieException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Screenplay ability to reuse the browser session of an earlier UI login
+ * After the first successful UI login of a user, the cookies and the local and session storage
+ * of the application are captured. Later logins of the same user (same application and password)
+ * inject that state instead of typing the credentials, which skips the login page entirely.
+ * A captured session is dropped after its TTL, when one of its cookies expires, or when a
+ * check request with it answers 401 or is redirected to the login page; the login then goes
+ * through the UI again and captures a fresh session.
+ *
+ * Sessions are shared by all actors of the run: {@code actor.can(ReuseLoginSessions.sharedAcrossTheRun())}.
+ * TTL: system property {@code login.session.ttl} in seconds (default 600).
+ */
+public class ReuseLoginSessions implements Ability {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReuseLoginSessions.class);
+
+    public static final String SESSION_TTL_PROPERTY = "login.session.ttl";
+
+    /** Path of the login page; a redirect there means the session is no longer valid */
+    public static final String LOGIN_PATH = "/login";
+
+    private static final int DEFAULT_SESSION_TTL_SECONDS = 600;
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "function dump(storage) {"
+            + "  var entries = {};"
+            + "  for (var i = 0; i < storage.length; i++) { entries[storage.key(i)] = storage.getItem(storage.key(i)); }"
+            + "  return entries;"
+            + "}"
+            + "return [dump(window.localStorage), dump(window.sessionStorage)];";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+            + "Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });"
+            + "Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });";
+
+    private static final String CHECK_SESSION_SCRIPT =
+            "var done = arguments[arguments.length - 1];"
+            + "fetch(arguments[0], {credentials: 'include'})"
+            + "  .then(function (response) { done([response.status, response.url]); })"
+            + "  .catch(function (error) { done([0, String(error)]); });";
+
+    private static final ReuseLoginSessions SHARED = new ReuseLoginSessions(
+            Duration.ofSeconds(Integer.getInteger(SESSION_TTL_PROPERTY, DEFAULT_SESSION_TTL_SECONDS)),
+            Clock.systemUTC());
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<SessionKey, LoginSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Identifies the sessions of one user on one application
+     */
+    record SessionKey(String origin, String username, String password) {
+
+        @Override
+        public String toString() {
+            return username + "@" + origin;
+        }
+    }
+
+    /**
+     * Browser state captured after a UI login
+     * @param landingUrl Page shown right after the login
+     * @param cookies Cookies of the application
+     * @param localStorage Local storage entries
+     * @param sessionStorage Session storage entries
+     * @param expiresAt When the session must no longer be reused
+     */
+    record LoginSession(String landingUrl, Set<Cookie> cookies, Map<String, String> localStorage,
+                        Map<String, String> sessionStorage, Instant expiresAt) {
+    }
+
+    ReuseLoginSessions(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * @return Ability backed by the session cache of the whole test run
+     */
+    public static ReuseLoginSessions sharedAcrossTheRun() {
+        return SHARED;
+    }
+
+    /**
+     * Logs in by injecting a captured session, if a valid one exists for the user
+     * @param driver Driver of the actor
+     * @param username User to log in
+     * @param password Password of the user
+     * @return true if the browser is now logged in; false if the login must go through the UI
+     */
+    public boolean restore(WebDriver driver, String username, String password) {
+        String origin = originOf(driver.getCurrentUrl());
+        if (origin == null) {
+            return false;
+        }
+        SessionKey key = new SessionKey(origin, username, password);
+        LoginSession session = find(key);
+        if (session == null) {
+            return false;
+        }
+        try {
+            for (Cookie cookie : session.cookies()) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, session.localStorage(),
+                    session.sessionStorage());
+            if (!isAccepted(driver, session.landingUrl())) {
+                drop(key, "rejected by the application");
+                clear(driver);
+                return false;
+            }
+            driver.get(session.landingUrl());
+            if (isLoginPage(driver.getCurrentUrl())) {
+                drop(key, "redirected to the login page");
+                clear(driver);
+                return false;
+            }
+        } catch (InvalidCookieDomainException | UnableToSetCookieException e) {
+            drop(key, e.getMessage());
+            return false;
+        } catch (WebDriverException e) {
+            // Not the session's fault (e.g. a script timeout); log in through the UI this time
+            LOGGER.debug("Could not reuse the login session of {}: {}", key, e.getMessage());
+            return false;
+        }
+        LOGGER.debug("Reused the login session of {}", key);
+        return true;
+    }
+
+    /**
+     * Captures the browser state after a UI login; does nothing if the browser is still on the login page
+     * @param driver Driver of the actor
+     * @param username User that logged in
+     * @param password Password of the user
+     */
+    @SuppressWarnings("unchecked")
+    public void capture(WebDriver driver, String username, String password) {
+        String landingUrl = driver.getCurrentUrl();
+        String origin = originOf(landingUrl);
+        if (origin == null || isLoginPage(landingUrl)) {
+            return;
+        }
+        try {
+            Set<Cookie> cookies = driver.manage().getCookies();
+            List<Map<String, Object>> storage =
+                    (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+            Instant expiresAt = clock.instant().plus(ttl);
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(expiresAt)) {
+                    expiresAt = cookie.getExpiry().toInstant();
+                }
+            }
+            store(new SessionKey(origin, username, password), new LoginSession(landingUrl, Set.copyOf(cookies),
+                    strings(storage.get(0)), strings(storage.get(1)), expiresAt));
+        } catch (WebDriverException | ClassCastException | IndexOutOfBoundsException e) {
+            LOGGER.debug("Could not capture the login session of {}: {}", username, e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for the page shown after submitting the login form, so that {@link #capture} sees the
+     * session the application set up rather than the login page
+     * @param driver Driver of the actor
+     * @param timeout Maximum time to wait
+     * @return true once the browser has left the login page and the new page has loaded;
+     *         false if it is still on the login page after the timeout (e.g. wrong credentials)
+     */
+    public static boolean awaitLanding(WebDriver driver, Duration timeout) {
+        try {
+            new WebDriverWait(driver, timeout).until(current -> !isLoginPage(current.getCurrentUrl())
+                    && "complete".equals(((JavascriptExecutor) current).executeScript("return document.readyState")));
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Drops the captured session of a user, e.g. after the application answered 401
+     * @param driver Driver of the actor (its current page identifies the application)
+     * @param username User whose session is no longer valid
+     */
+    public void invalidate(WebDriver driver, String username) {
+        String origin = originOf(driver.getCurrentUrl());
+        sessions.keySet().removeIf(key -> key.username().equals(username) && key.origin().equals(origin));
+    }
+
+    /**
+     * @param url Any URL
+     * @return true if the URL is the login page
+     */
+    public static boolean isLoginPage(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return path != null && path.startsWith(LOGIN_PATH);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    LoginSession find(SessionKey key) {
+        LoginSession session = sessions.get(key);
+        if (session != null && !clock.instant().isBefore(session.expiresAt())) {
+            drop(key, "expired");
+            return null;
+        }
+        return session;
+    }
+
+    void store(SessionKey key, LoginSession session) {
+        sessions.put(key, session);
+        LOGGER.debug("Captured the login session of {} ({} cookie(s))", key, session.cookies().size());
+    }
+
+    private void drop(SessionKey key, String reason) {
+        if (sessions.remove(key) != null) {
+            LOGGER.info("Dropped the login session of {}: {}", key, reason);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isAccepted(WebDriver driver, String url) {
+        List<Object> response = (List<Object>) ((JavascriptExecutor) driver).executeAsyncScript(CHECK_SESSION_SCRIPT, url);
+        int status = ((Number) response.get(0)).intValue();
+        return status != 0 && status != 401 && !isLoginPage(String.valueOf(response.get(1)));
+    }
+
+    private static void clear(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+    }
+
+    private static Map<String, String> strings(Map<String, Object> values) {
+        Map<String, String> strings = new HashMap<>();
+        values.forEach((key, value) -> strings.put(key, String.valueOf(value)));
+        return Map.copyOf(strings);
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || uri.getHost() == null || !uri.getScheme().startsWith("http")) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "reuse login sessions";
+    }
+}
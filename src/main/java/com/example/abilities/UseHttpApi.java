@@ -0,0 +1,232 @@
+package com.example.abilities;
+
+import net.serenitybdd.screenplay.Ability;
+import net.serenitybdd.screenplay.Actor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screenplay ability to call the application's HTTP API, e.g. to authenticate or seed data
+ * without going through the browser
+ * All instances share one {@link HttpClient}: HTTP/2 (HTTP/1.1 where the server does not offer it),
+ * keep-alive connections pooled across scenarios, and a virtual thread per request.
+ * Each instance holds its own base URL, timeout and default headers (such as an auth token),
+ * so actors and scenarios do not see each other's headers.
+ *
+ * Configuration: {@code api.base.url} and {@code api.timeout} (ms) from test.properties,
+ * overridden by system properties of the same name.
+ * {@code Hooks} starts an instance for each {@code @api} scenario; see {@link #forCurrentScenario()}.
+ */
+public class UseHttpApi implements Ability {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UseHttpApi.class);
+
+    public static final String BASE_URL_PROPERTY = "api.base.url";
+    public static final String TIMEOUT_PROPERTY = "api.timeout";
+
+    private static final String TEST_PROPERTIES = "test.properties";
+    private static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+
+    private static final ThreadLocal<UseHttpApi> SCENARIO = new ThreadLocal<>();
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    UseHttpApi(HttpClient client, URI baseUri, Duration timeout) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return Ability for the API configured in test.properties (or system properties)
+     */
+    public static UseHttpApi withTestConfiguration() {
+        Properties properties = testProperties();
+        String baseUrl = System.getProperty(BASE_URL_PROPERTY, properties.getProperty(BASE_URL_PROPERTY));
+        if (baseUrl == null || baseUrl.isBlank()) {
+            throw new IllegalStateException("No API base URL configured (" + BASE_URL_PROPERTY + ")");
+        }
+        long timeoutMillis = Long.parseLong(System.getProperty(TIMEOUT_PROPERTY,
+                properties.getProperty(TIMEOUT_PROPERTY, String.valueOf(DEFAULT_TIMEOUT_MILLIS))).trim());
+        return at(baseUrl.trim(), Duration.ofMillis(timeoutMillis));
+    }
+
+    /**
+     * @param baseUrl Base URL that request paths are resolved against
+     * @param timeout Timeout of each request
+     * @return Ability using the shared client
+     */
+    public static UseHttpApi at(String baseUrl, Duration timeout) {
+        return new UseHttpApi(SharedClient.CLIENT, URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/"), timeout);
+    }
+
+    /**
+     * @param actor Actor that was given the ability
+     * @return The actor's ability
+     * @throws IllegalStateException if the actor cannot use the API
+     */
+    public static UseHttpApi as(Actor actor) {
+        UseHttpApi ability = actor.abilityTo(UseHttpApi.class);
+        if (ability == null) {
+            throw new IllegalStateException(actor.getName() + " does not have the ability to use the HTTP API");
+        }
+        return ability;
+    }
+
+    /**
+     * Creates the ability of the scenario running on this thread (called by {@code Hooks} for {@code @api})
+     * @return Ability configured from test.properties
+     */
+    public static UseHttpApi startScenario() {
+        UseHttpApi ability = withTestConfiguration();
+        SCENARIO.set(ability);
+        return ability;
+    }
+
+    /**
+     * @return Ability of the current {@code @api} scenario, or null outside of one
+     */
+    public static UseHttpApi forCurrentScenario() {
+        return SCENARIO.get();
+    }
+
+    /**
+     * Ends the scenario scope started by {@link #startScenario()}
+     * @return Ability of the scenario, or null if none was started
+     */
+    public static UseHttpApi endScenario() {
+        UseHttpApi ability = SCENARIO.get();
+        SCENARIO.remove();
+        return ability;
+    }
+
+    /**
+     * Sends a header with every later request of this instance
+     * @param name Header name
+     * @param value Header value
+     * @return This ability
+     */
+    public UseHttpApi withHeader(String name, String value) {
+        synchronized (headers) {
+            headers.put(name, value);
+        }
+        return this;
+    }
+
+    public HttpResponse<String> get(String path) throws IOException {
+        return send(request(path).GET());
+    }
+
+    public HttpResponse<String> post(String path, String body, String contentType) throws IOException {
+        return send(request(path).header("Content-Type", contentType).POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    public HttpResponse<String> put(String path, String body, String contentType) throws IOException {
+        return send(request(path).header("Content-Type", contentType).PUT(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    public HttpResponse<String> delete(String path) throws IOException {
+        return send(request(path).DELETE());
+    }
+
+    /**
+     * Starts a request for a path of the API, with the timeout and default headers applied
+     * @param path Path relative to the base URL (a leading '/' is ignored)
+     * @return Request builder to complete with a method and body
+     */
+    public HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path.startsWith("/") ? path.substring(1) : path))
+                .timeout(timeout);
+        synchronized (headers) {
+            headers.forEach(builder::header);
+        }
+        return builder;
+    }
+
+    /**
+     * Sends a request and waits for the response
+     * @param request Request built with {@link #request(String)}
+     * @return Response with the body as text
+     * @throws IOException if the request fails or times out
+     */
+    public HttpResponse<String> send(HttpRequest.Builder request) throws IOException {
+        HttpRequest built = request.build();
+        requests.incrementAndGet();
+        try {
+            return client.send(built, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + built.uri());
+        }
+    }
+
+    /**
+     * Sends a request without waiting, e.g. to seed several records in parallel
+     * @param request Request built with {@link #request(String)}
+     * @return Future response with the body as text
+     */
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest.Builder request) {
+        requests.incrementAndGet();
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    /**
+     * @return Number of requests sent through this instance
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public String toString() {
+        return "use the HTTP API at " + baseUri;
+    }
+
+    private static Properties testProperties() {
+        Properties properties = new Properties();
+        try (InputStream input = UseHttpApi.class.getClassLoader().getResourceAsStream(TEST_PROPERTIES)) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read {}: {}", TEST_PROPERTIES, e.getMessage());
+        }
+        return properties;
+    }
+
+    /**
+     * Client shared by all instances, created on first use
+     */
+    private static final class SharedClient {
+
+        static final HttpClient CLIENT = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(DEFAULT_TIMEOUT_MILLIS))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.drivers;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Decides what happens to a browser request: block it, serve it from the local asset cache, or let it through
+ * URL patterns use {@code *} as a wildcard and must match the whole URL (like Chrome's blocked URLs).
+ * Resource types are those of Chrome DevTools in lower case (image, font, media, stylesheet, script, ...);
+ * the type comes from the request's Sec-Fetch-Dest header, or from the file extension when the
+ * browser does not send it (plain http other than localhost).
+ * The cache directory mirrors URLs as {@code <host>/<path>}, e.g. cache/cdn.example.com/css/app.css.
+ */
+public class NetworkRules {
+
+    /**
+     * What to do with a request
+     */
+    public enum Action {
+        BLOCK, SERVE_CACHED, CONTINUE
+    }
+
+    private final List<Pattern> blockedUrls;
+    private final Set<String> blockedTypes;
+    private final Path cacheDir;
+
+    /**
+     * @param blockedUrls URL patterns to block
+     * @param blockedTypes Resource types to block
+     * @param cacheDir Directory of locally served assets (null for none)
+     */
+    public NetworkRules(List<String> blockedUrls, Set<String> blockedTypes, Path cacheDir) {
+        this.blockedUrls = blockedUrls.stream().map(NetworkRules::toPattern).collect(Collectors.toList());
+        this.blockedTypes = blockedTypes.stream().map(type -> type.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.cacheDir = cacheDir != null ? cacheDir.toAbsolutePath().normalize() : null;
+    }
+
+    /**
+     * Reads rules from comma-separated settings
+     * @param blockedUrls URL patterns (may be empty)
+     * @param blockedTypes Resource types (may be empty)
+     * @param cacheDir Cache directory (blank for none)
+     * @return Parsed rules
+     */
+    public static NetworkRules parse(String blockedUrls, String blockedTypes, String cacheDir) {
+        return new NetworkRules(split(blockedUrls), Set.copyOf(split(blockedTypes)),
+                cacheDir == null || cacheDir.isBlank() ? null : Paths.get(cacheDir.trim()));
+    }
+
+    /**
+     * @return true if no rule can ever apply, so interception is not worth installing
+     */
+    public boolean isEmpty() {
+        return blockedUrls.isEmpty() && blockedTypes.isEmpty() && (cacheDir == null || !Files.isDirectory(cacheDir));
+    }
+
+    /**
+     * @param url Request URL
+     * @param fetchDestination Value of the Sec-Fetch-Dest header (may be null)
+     * @param isGet true for GET requests (only those are served from the cache)
+     * @return Action for the request
+     */
+    public Action decide(String url, String fetchDestination, boolean isGet) {
+        for (Pattern pattern : blockedUrls) {
+            if (pattern.matcher(url).matches()) {
+                return Action.BLOCK;
+            }
+        }
+        if (!blockedTypes.isEmpty() && blockedTypes.contains(resourceType(url, fetchDestination))) {
+            return Action.BLOCK;
+        }
+        if (isGet && cachedFile(url) != null) {
+            return Action.SERVE_CACHED;
+        }
+        return Action.CONTINUE;
+    }
+
+    /**
+     * @param url Request URL
+     * @return Cached copy of the URL, or null if there is none
+     */
+    public Path cachedFile(String url) {
+        if (cacheDir == null) {
+            return null;
+        }
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null || uri.getPath() == null || uri.getPath().isEmpty() || uri.getPath().endsWith("/")) {
+                return null;
+            }
+            Path file = cacheDir.resolve(uri.getHost() + uri.getPath()).normalize();
+            // Reject paths escaping the cache directory ("..")
+            return file.startsWith(cacheDir) && Files.isRegularFile(file) ? file : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param url Request URL
+     * @param fetchDestination Value of the Sec-Fetch-Dest header (may be null)
+     * @return DevTools resource type in lower case, or "other"
+     */
+    static String resourceType(String url, String fetchDestination) {
+        if (fetchDestination != null && !fetchDestination.isEmpty() && !"empty".equals(fetchDestination)) {
+            switch (fetchDestination) {
+                case "style":
+                    return "stylesheet";
+                case "audio":
+                case "video":
+                case "track":
+                    return "media";
+                case "iframe":
+                case "frame":
+                    return "document";
+                default:
+                    return fetchDestination;
+            }
+        }
+        String path = url.toLowerCase(Locale.ROOT);
+        int end = path.length();
+        for (char delimiter : new char[]{'?', '#'}) {
+            int index = path.indexOf(delimiter);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        path = path.substring(0, end);
+        String extension = path.substring(path.lastIndexOf('.') + 1);
+        switch (extension) {
+            case "png":
+            case "jpg":
+            case "jpeg":
+            case "gif":
+            case "webp":
+            case "avif":
+            case "svg":
+            case "ico":
+                return "image";
+            case "woff":
+            case "woff2":
+            case "ttf":
+            case "otf":
+            case "eot":
+                return "font";
+            case "mp4":
+            case "webm":
+            case "mp3":
+            case "ogg":
+            case "wav":
+                return "media";
+            case "css":
+                return "stylesheet";
+            case "js":
+            case "mjs":
+                return "script";
+            default:
+                return "other";
+        }
+    }
+
+    private static Pattern toPattern(String glob) {
+        List<String> parts = new ArrayList<>();
+        for (String part : glob.split("\\*", -1)) {
+            parts.add(Pattern.quote(part));
+        }
+        return Pattern.compile(String.join(".*", parts));
+    }
+
+    private static List<String> split(String values) {
+        if (values == null || values.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
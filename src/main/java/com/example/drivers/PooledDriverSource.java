@@ -0,0 +1,232 @@
+package com.example.drivers;
+
+import com.example.utils.Timings;
+import net.thucydides.core.webdriver.DriverSource;
+import net.thucydides.model.environment.SystemEnvironmentVariables;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Serenity driver source that hands out sessions from a shared {@link WebDriverPool}
+ * Enable with {@code -Dwebdriver.driver=provided} (see the {@code webdriver.provided} block in serenity.conf).
+ * Serenity quits its driver at the end of each scenario; the returned driver turns that
+ * quit into a release, so the browser is reset and kept warm for the next scenario.
+ *
+ * Pool settings (serenity.conf or system properties):
+ * {@code webdriver.pool.size} (default: available processors),
+ * {@code webdriver.pool.max.uses} (default 50),
+ * {@code webdriver.pool.lease.timeout} in ms (default 120000).
+ * Each WebDriver call is reported to {@link Timings} as a "webdriver" operation named after the method.
+ *
+ * Request interception ({@link NetworkRules}, serenity.conf {@code webdriver.intercept} block):
+ * {@code webdriver.intercept.enabled} (default false),
+ * {@code webdriver.intercept.block.urls} (comma-separated URL patterns),
+ * {@code webdriver.intercept.block.types} (comma-separated resource types, e.g. image,font,media),
+ * {@code webdriver.intercept.cache.dir} (assets served locally).
+ * The requests and bytes saved are logged each time a scenario returns its session.
+ */
+public class PooledDriverSource implements DriverSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledDriverSource.class);
+
+    private static volatile WebDriverPool sharedPool;
+
+    /** Interceptor of each pooled browser; closed and removed when the pool retires the browser */
+    private static final Map<WebDriver, RequestInterceptor> INTERCEPTORS = new ConcurrentHashMap<>();
+
+    @Override
+    public WebDriver newDriver() {
+        WebDriverPool pool = sharedPool();
+        return wrap(pool, pool.lease());
+    }
+
+    @Override
+    public boolean takesScreenshots() {
+        return true;
+    }
+
+    /**
+     * @return Pool shared by all scenarios of the test run, created on first use
+     */
+    public static WebDriverPool sharedPool() {
+        if (sharedPool == null) {
+            synchronized (PooledDriverSource.class) {
+                if (sharedPool == null) {
+                    EnvironmentVariables environment = SystemEnvironmentVariables.currentEnvironmentVariables();
+                    String switches = environment.getProperty("webdriver.chrome.switches", "");
+                    NetworkRules rules = networkRules(environment);
+                    WebDriverPool pool = newPool(
+                            () -> intercepted(new ChromeDriver(chromeOptions(switches)), rules),
+                            environment.getPropertyAsInteger("webdriver.pool.size",
+                                    Runtime.getRuntime().availableProcessors()),
+                            environment.getPropertyAsInteger("webdriver.pool.max.uses", 50),
+                            environment.getPropertyAsInteger("webdriver.pool.lease.timeout", 120_000));
+                    Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "webdriver-pool-shutdown"));
+                    sharedPool = pool;
+                }
+            }
+        }
+        return sharedPool;
+    }
+
+    /**
+     * Creates a pool that closes the request interceptor of each browser it retires
+     */
+    static WebDriverPool newPool(Supplier<WebDriver> driverFactory, int maxSize, int maxUses, long leaseTimeoutMillis) {
+        return new WebDriverPool(driverFactory, PooledDriverSource::closeInterceptor, maxSize, maxUses,
+                leaseTimeoutMillis);
+    }
+
+    /**
+     * Attaches an interceptor to a pooled browser, to be closed when the pool retires it
+     */
+    static void track(WebDriver driver, RequestInterceptor interceptor) {
+        INTERCEPTORS.put(driver, interceptor);
+    }
+
+    /**
+     * Stops the request interception of a browser the pool is about to quit
+     */
+    private static void closeInterceptor(WebDriver driver) {
+        RequestInterceptor interceptor = INTERCEPTORS.remove(driver);
+        if (interceptor != null) {
+            interceptor.close();
+        }
+    }
+
+    /**
+     * @return Interception rules, or null if interception is disabled or has nothing to do
+     */
+    private static NetworkRules networkRules(EnvironmentVariables environment) {
+        if (!environment.getPropertyAsBoolean("webdriver.intercept.enabled", false)) {
+            return null;
+        }
+        NetworkRules rules = NetworkRules.parse(environment.getProperty("webdriver.intercept.block.urls", ""),
+                environment.getProperty("webdriver.intercept.block.types", ""),
+                environment.getProperty("webdriver.intercept.cache.dir", ""));
+        return rules.isEmpty() ? null : rules;
+    }
+
+    private static WebDriver intercepted(WebDriver driver, NetworkRules rules) {
+        if (rules == null || !(driver instanceof HasDevTools)) {
+            return driver;
+        }
+        try {
+            track(driver, new RequestInterceptor(driver, rules));
+        } catch (RuntimeException e) {
+            // e.g. no DevTools support for this browser version: run without interception
+            LOGGER.warn("Request interception is not available: {}", e.getMessage());
+        }
+        return driver;
+    }
+
+    private static ChromeOptions chromeOptions(String switches) {
+        ChromeOptions options = new ChromeOptions();
+        Arrays.stream(switches.split(",(?=--)"))
+                .map(String::trim)
+                .filter(option -> !option.isEmpty())
+                .forEach(options::addArguments);
+        return options;
+    }
+
+    /**
+     * Wraps a leased session so that quit() returns it to the pool instead of closing the browser
+     */
+    static WebDriver wrap(WebDriverPool pool, WebDriverPool.Session session) {
+        WebDriver driver = session.getDriver();
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = driver.getClass(); type != null; type = type.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        interfaces.add(WebDriver.class);
+        return (WebDriver) Proxy.newProxyInstance(PooledDriverSource.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]), new LeasedDriverHandler(pool, session));
+    }
+
+    /**
+     * Delegates to the pooled driver and tracks whether the browser is still usable
+     */
+    private static class LeasedDriverHandler implements InvocationHandler {
+
+        private final WebDriverPool pool;
+        private final WebDriverPool.Session session;
+        private boolean broken;
+        private boolean released;
+
+        LeasedDriverHandler(WebDriverPool pool, WebDriverPool.Session session) {
+            this.pool = pool;
+            this.session = session;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled(" + session.getDriver() + ")";
+                case "quit":
+                    release();
+                    return null;
+                case "close":
+                    // Closing the last window would end the session, so treat it like quit
+                    if (!released && session.getDriver().getWindowHandles().size() <= 1) {
+                        release();
+                        return null;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (released) {
+                throw new NoSuchSessionException("WebDriver session has been returned to the pool");
+            }
+            long start = System.nanoTime();
+            try {
+                return method.invoke(session.getDriver(), args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof NoSuchSessionException || cause instanceof UnreachableBrowserException) {
+                    broken = true;
+                }
+                throw cause;
+            } finally {
+                Timings.record("webdriver", method.getName(), start);
+            }
+        }
+
+        private void release() {
+            if (!released) {
+                released = true;
+                RequestInterceptor interceptor = INTERCEPTORS.get(session.getDriver());
+                if (interceptor != null) {
+                    RequestInterceptor.Savings savings = interceptor.takeSavings();
+                    if (!savings.isEmpty()) {
+                        LOGGER.info("Request interception {}", savings);
+                    }
+                }
+                pool.release(session, broken);
+            }
+        }
+    }
+}
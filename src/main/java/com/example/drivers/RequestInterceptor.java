@@ -0,0 +1,120 @@
+package com.example.drivers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies {@link NetworkRules} to every request of one Chrome session through Selenium's DevTools
+ * Blocked requests get an empty 200 response, so pages do not log load errors for them;
+ * cached assets are answered from disk without touching the network.
+ * Counters are kept per lease (see {@link #takeSavings()}), which is one scenario.
+ */
+public class RequestInterceptor implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestInterceptor.class);
+
+    private final NetworkRules rules;
+    private final Runnable stop;
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong cached = new AtomicLong();
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    /**
+     * Requests and bytes that did not go over the network
+     * @param blockedRequests Requests answered with an empty response
+     * @param cachedRequests Requests answered from the cache directory
+     * @param cachedBytes Bytes served from the cache directory
+     */
+    public record Savings(long blockedRequests, long cachedRequests, long cachedBytes) {
+
+        public boolean isEmpty() {
+            return blockedRequests == 0 && cachedRequests == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "blocked " + blockedRequests + " request(s), served " + cachedRequests + " from cache ("
+                    + cachedBytes / 1024 + " KB)";
+        }
+    }
+
+    /**
+     * Starts intercepting the requests of a browser
+     * @param driver Driver supporting DevTools (Chrome, Edge)
+     * @param rules Rules to apply
+     */
+    public RequestInterceptor(WebDriver driver, NetworkRules rules) {
+        this.rules = rules;
+        NetworkInterceptor interceptor = new NetworkInterceptor(driver, (Filter) next -> request -> {
+            switch (rules.decide(request.getUri(), request.getHeader("Sec-Fetch-Dest"),
+                    request.getMethod() == HttpMethod.GET)) {
+                case BLOCK:
+                    blocked.incrementAndGet();
+                    return new HttpResponse().setStatus(200).setContent(Contents.bytes(new byte[0]));
+                case SERVE_CACHED:
+                    HttpResponse response = serveCached(request);
+                    if (response != null) {
+                        return response;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return next.execute(request);
+        });
+        this.stop = interceptor::close;
+    }
+
+    /**
+     * @param rules Rules to apply
+     * @param stop Stops the interception (for tests without a browser)
+     */
+    RequestInterceptor(NetworkRules rules, Runnable stop) {
+        this.rules = rules;
+        this.stop = stop;
+    }
+
+    /**
+     * @return Savings since the previous call; the counters start again from zero
+     */
+    public Savings takeSavings() {
+        return new Savings(blocked.getAndSet(0), cached.getAndSet(0), cachedBytes.getAndSet(0));
+    }
+
+    @Override
+    public void close() {
+        stop.run();
+    }
+
+    private HttpResponse serveCached(HttpRequest request) {
+        Path file = rules.cachedFile(request.getUri());
+        if (file == null) {
+            return null;
+        }
+        try {
+            byte[] content = Files.readAllBytes(file);
+            String contentType = Files.probeContentType(file);
+            cached.incrementAndGet();
+            cachedBytes.addAndGet(content.length);
+            return new HttpResponse()
+                    .setStatus(200)
+                    .addHeader("Content-Type", contentType != null ? contentType : "application/octet-stream")
+                    .setContent(Contents.bytes(content));
+        } catch (IOException e) {
+            LOGGER.debug("Could not serve {} from {}: {}", request.getUri(), file, e.getMessage());
+            return null;
+        }
+    }
+}
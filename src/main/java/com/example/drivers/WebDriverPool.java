@@ -0,0 +1,287 @@
+package com.example.drivers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver sessions
+ * Browser start-up dominates the cost of short web scenarios, so sessions are leased to
+ * scenarios (one per thread at a time) and reset instead of quit when they are returned.
+ * A session is recycled after a configurable number of uses or as soon as it is reported broken.
+ */
+public class WebDriverPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+            + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Supplier<WebDriver> driverFactory;
+    private final Consumer<WebDriver> onQuit;
+    private final int maxUses;
+    private final long leaseTimeoutMillis;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Session> idle = new ConcurrentLinkedDeque<>();
+    private final Metrics metrics = new Metrics();
+    private volatile boolean shutdown;
+
+    /**
+     * @param driverFactory Creates a new browser session
+     * @param maxSize Maximum number of sessions alive at the same time
+     * @param maxUses Number of leases after which a session is quit and replaced
+     * @param leaseTimeoutMillis How long a lease waits for a free session before failing
+     */
+    public WebDriverPool(Supplier<WebDriver> driverFactory, int maxSize, int maxUses, long leaseTimeoutMillis) {
+        this(driverFactory, driver -> { }, maxSize, maxUses, leaseTimeoutMillis);
+    }
+
+    /**
+     * @param driverFactory Creates a new browser session
+     * @param onQuit Called with each browser the pool retires (worn out, broken or shut down), before it is quit,
+     *               to release resources attached to the session
+     * @param maxSize Maximum number of sessions alive at the same time
+     * @param maxUses Number of leases after which a session is quit and replaced
+     * @param leaseTimeoutMillis How long a lease waits for a free session before failing
+     */
+    public WebDriverPool(Supplier<WebDriver> driverFactory, Consumer<WebDriver> onQuit,
+                         int maxSize, int maxUses, long leaseTimeoutMillis) {
+        if (maxSize < 1 || maxUses < 1) {
+            throw new IllegalArgumentException("Pool size and max uses must be at least 1");
+        }
+        this.driverFactory = driverFactory;
+        this.onQuit = onQuit;
+        this.maxUses = maxUses;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Leases a session, reusing an idle one when available
+     * @return Session exclusively owned by the caller until it is released
+     */
+    public Session lease() {
+        if (shutdown) {
+            throw new IllegalStateException("WebDriver pool has been shut down");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(leaseTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No WebDriver session became available within "
+                        + leaseTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebDriver session", e);
+        }
+        metrics.recordWait(System.nanoTime() - start);
+
+        try {
+            Session session = idle.pollFirst();
+            if (session != null) {
+                metrics.reused.incrementAndGet();
+            } else {
+                session = new Session(driverFactory.get());
+                metrics.created.incrementAndGet();
+            }
+            session.uses++;
+            return session;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a session to the pool. Healthy sessions are reset and kept warm; broken or
+     * worn-out sessions are quit.
+     * @param session Session obtained from {@link #lease()}
+     * @param broken true if the browser crashed or the session is no longer usable
+     */
+    public void release(Session session, boolean broken) {
+        try {
+            if (shutdown || broken || session.uses >= maxUses || !reset(session.driver)) {
+                discard(session, broken);
+            } else {
+                idle.offerFirst(session);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quits all idle sessions and rejects further leases
+     */
+    public void shutdown() {
+        shutdown = true;
+        Session session;
+        while ((session = idle.pollFirst()) != null) {
+            quitQuietly(session);
+        }
+        LOGGER.info("WebDriver pool shut down: {}", metrics);
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    private void discard(Session session, boolean broken) {
+        if (broken) {
+            metrics.crashed.incrementAndGet();
+        } else {
+            metrics.recycled.incrementAndGet();
+        }
+        quitQuietly(session);
+    }
+
+    private void quitQuietly(Session session) {
+        try {
+            onQuit.accept(session.driver);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Ignoring error while retiring WebDriver session: {}", e.getMessage());
+        }
+        try {
+            session.driver.quit();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Ignoring error while quitting WebDriver session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Clears cookies, storage and extra windows so the next scenario starts from a blank browser
+     * @return true if the session is clean and can be reused
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            if (!handles.isEmpty()) {
+                driver.switchTo().window(handles.get(0));
+            }
+            if (driver instanceof JavascriptExecutor javascript) {
+                // Storage is per origin, so it has to be cleared before leaving the page
+                javascript.executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.debug("WebDriver session could not be reset, discarding it: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * A pooled browser session
+     */
+    public static class Session {
+
+        private final WebDriver driver;
+        private int uses;
+
+        Session(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        /**
+         * @return Number of times this session has been leased
+         */
+        public int getUses() {
+            return uses;
+        }
+    }
+
+    /**
+     * Lease and reuse counters of the pool
+     */
+    public static class Metrics {
+
+        private final AtomicLong leases = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong reused = new AtomicLong();
+        private final AtomicLong recycled = new AtomicLong();
+        private final AtomicLong crashed = new AtomicLong();
+
+        void recordWait(long waitNanos) {
+            leases.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+        }
+
+        public long getLeaseCount() {
+            return leases.get();
+        }
+
+        public double getAverageLeaseWaitMillis() {
+            long count = leases.get();
+            return count == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / count;
+        }
+
+        public double getMaxLeaseWaitMillis() {
+            return maxWaitNanos.get() / 1_000_000.0;
+        }
+
+        /**
+         * @return Number of browsers started
+         */
+        public long getCreatedCount() {
+            return created.get();
+        }
+
+        /**
+         * @return Number of leases served by an already running browser
+         */
+        public long getReusedCount() {
+            return reused.get();
+        }
+
+        /**
+         * @return Number of sessions quit after reaching the use limit or failing to reset
+         */
+        public long getRecycledCount() {
+            return recycled.get();
+        }
+
+        /**
+         * @return Number of sessions quit because they were reported broken
+         */
+        public long getCrashedCount() {
+            return crashed.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("leases=%d, created=%d, reused=%d, recycled=%d, crashed=%d, "
+                            + "avgWait=%.1fms, maxWait=%.1fms",
+                    getLeaseCount(), getCreatedCount(), getReusedCount(), getRecycledCount(), getCrashedCount(),
+                    getAverageLeaseWaitMillis(), getMaxLeaseWaitMillis());
+        }
+    }
+}
@@ -1,66 +1,81 @@
 package com.example.pages;
 
+import com.example.questions.ElementState;
+import com.example.questions.ElementStates;
 import net.serenitybdd.annotations.DefaultUrl;
 import net.serenitybdd.core.annotations.findby.FindBy;
 import net.serenitybdd.core.pages.PageObject;
 import net.serenitybdd.core.pages.WebElementFacade;
 
+import java.util.List;
+
 /**
  * Page Object for Dashboard page
  * Represents the main dashboard after successful login
+ * The state of all dashboard elements is read in one browser call and reused for the rest of
+ * the step (see {@link ElementStates}), so a block of is*Displayed checks costs one round trip.
+ * The getters do not wait for elements to appear (implicit waits are off): call
+ * {@link #waitForDashboardToLoad()} first, and use the {@code DashboardState} questions with
+ * {@code eventually(...)} for anything that changes while the step runs.
  */
 @DefaultUrl("/dashboard")
 public class DashboardPage extends PageObject {
 
-    @FindBy(css = ".dashboard-title")
-    private WebElementFacade dashboardTitle;
+    private static final String DASHBOARD_TITLE_CSS = ".dashboard-title";
+    private static final String USER_PROFILE_CSS = ".user-profile";
+    private static final String LOGOUT_BUTTON_CSS = "#logout-button";
+    private static final String NAVIGATION_MENU_CSS = ".navigation-menu";
+    private static final String DASHBOARD_WIDGETS_CSS = ".dashboard-widgets";
 
-    @FindBy(css = ".user-profile")
-    private WebElementFacade userProfile;
+    private static final List<String> DASHBOARD_ELEMENTS = List.of(DASHBOARD_TITLE_CSS, USER_PROFILE_CSS,
+            LOGOUT_BUTTON_CSS, NAVIGATION_MENU_CSS, DASHBOARD_WIDGETS_CSS);
 
-    @FindBy(id = "logout-button")
+    @FindBy(css = LOGOUT_BUTTON_CSS)
     private WebElementFacade logoutButton;
 
-    @FindBy(css = ".navigation-menu")
-    private WebElementFacade navigationMenu;
-
-    @FindBy(css = ".dashboard-widgets")
-    private WebElementFacade dashboardWidgets;
-
     public boolean isDashboardDisplayed() {
-        return dashboardTitle.isDisplayed();
+        return stateOf(DASHBOARD_TITLE_CSS).visible();
     }
 
     public String getDashboardTitle() {
-        return dashboardTitle.getText();
+        return stateOf(DASHBOARD_TITLE_CSS).text();
     }
 
     public boolean isUserProfileDisplayed() {
-        return userProfile.isDisplayed();
+        return stateOf(USER_PROFILE_CSS).visible();
     }
 
     public void clickLogout() {
         logoutButton.click();
+        ElementStates.clearCache();
     }
 
     public boolean isLogoutButtonVisible() {
-        return logoutButton.isVisible();
+        return stateOf(LOGOUT_BUTTON_CSS).visible();
     }
 
     public boolean isNavigationMenuDisplayed() {
-        return navigationMenu.isDisplayed();
+        return stateOf(NAVIGATION_MENU_CSS).visible();
     }
 
     public boolean areDashboardWidgetsDisplayed() {
-        return dashboardWidgets.isDisplayed();
+        return stateOf(DASHBOARD_WIDGETS_CSS).visible();
     }
 
+    /**
+     * Waits until the title and the navigation menu are visible, checked together in one browser call
+     */
     public void waitForDashboardToLoad() {
-        waitFor(dashboardTitle).toBeVisible();
-        waitFor(navigationMenu).toBeVisible();
+        VisibilityWait.untilVisible(getDriver(), getWaitForTimeout(), DASHBOARD_TITLE_CSS, NAVIGATION_MENU_CSS);
+        // Anything read before the dashboard finished loading is out of date
+        ElementStates.clearCache();
     }
 
     public String getCurrentUrl() {
         return getDriver().getCurrentUrl();
     }
-}
\ No newline at end of file
+
+    private ElementState stateOf(String selector) {
+        return ElementStates.query(getDriver(), DASHBOARD_ELEMENTS).get(selector);
+    }
+}
@@ -12,13 +12,15 @@ import net.serenitybdd.core.pages.WebElementFacade;
 @DefaultUrl("/login")
 public class LoginPage extends PageObject {
 
+    private static final String LOGIN_BUTTON_ID = "login-button";
+
     @FindBy(id = "username")
     private WebElementFacade usernameField;
 
     @FindBy(id = "password")
     private WebElementFacade passwordField;
 
-    @FindBy(id = "login-button")
+    @FindBy(id = LOGIN_BUTTON_ID)
     private WebElementFacade loginButton;
 
     @FindBy(css = ".error-message")
@@ -68,6 +70,6 @@ public class LoginPage extends PageObject {
     }
 
     public void waitForPageToLoad() {
-        waitFor(loginButton).toBeVisible();
+        VisibilityWait.untilVisible(getDriver(), getWaitForTimeout(), "#" + LOGIN_BUTTON_ID);
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.example.pages;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits until several elements are visible with a single browser round trip
+ * The check runs inside the page as an async script: if the elements are not visible yet,
+ * a MutationObserver re-checks them whenever the DOM or an attribute changes and answers as soon
+ * as all of them are visible (or the wait times out). Polling element by element over WebDriver
+ * is avoided, which is why the implicit wait is disabled in serenity.conf.
+ *
+ * A single script call is bounded by {@link #MAX_SCRIPT_MILLIS} to stay under the driver's script
+ * timeout; longer waits, and waits interrupted by a page navigation, start a new call.
+ */
+public final class VisibilityWait {
+
+    /** Longest time one script call waits in the browser */
+    static final long MAX_SCRIPT_MILLIS = 10_000;
+
+    private static final long RETRY_PAUSE_MILLIS = 100;
+
+    private static final String SCRIPT =
+            "var selectors = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];"
+            + "function missing() {"
+            + "  return selectors.filter(function (selector) {"
+            + "    var element = document.querySelector(selector);"
+            + "    if (!element) { return true; }"
+            + "    var style = window.getComputedStyle(element);"
+            + "    return style.visibility === 'hidden' || style.display === 'none'"
+            + "        || element.getClientRects().length === 0;"
+            + "  });"
+            + "}"
+            + "if (missing().length === 0) { done([]); return; }"
+            + "var observer, timer;"
+            + "function finish() { observer.disconnect(); clearTimeout(timer); done(missing()); }"
+            + "observer = new MutationObserver(function () { if (missing().length === 0) { finish(); } });"
+            + "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true});"
+            + "timer = setTimeout(finish, timeout);";
+
+    private VisibilityWait() {
+    }
+
+    /**
+     * Waits until every selector matches a visible element
+     * @param driver Driver of the page; must support JavaScript
+     * @param timeout Maximum time to wait
+     * @param cssSelectors CSS selectors of the elements (the first match of each is checked)
+     * @throws TimeoutException if an element is still missing or hidden after the timeout
+     */
+    public static void untilVisible(WebDriver driver, Duration timeout, String... cssSelectors) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            throw new IllegalArgumentException("Driver does not support JavaScript: " + driver);
+        }
+        List<String> selectors = List.of(cssSelectors);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<String> missing = selectors;
+        WebDriverException lastError = null;
+        while (true) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                missing = missingSelectors(executor.executeAsyncScript(SCRIPT, selectors,
+                        Math.max(0, Math.min(remaining, MAX_SCRIPT_MILLIS))), selectors);
+                if (missing.isEmpty()) {
+                    return;
+                }
+            } catch (ScriptTimeoutException | JavascriptException e) {
+                // Script timeout below our bound, or the page navigated while the script waited
+                lastError = e;
+                pause(Math.min(RETRY_PAUSE_MILLIS, remaining));
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new TimeoutException("Elements not visible after " + timeout.toMillis() + " ms: " + missing,
+                        lastError);
+            }
+        }
+    }
+
+    private static List<String> missingSelectors(Object result, List<String> selectors) {
+        if (!(result instanceof List<?> list)) {
+            return selectors;
+        }
+        List<String> missing = new ArrayList<>();
+        for (Object value : list) {
+            missing.add(String.valueOf(value));
+        }
+        return missing;
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for elements", e);
+        }
+    }
+}
@@ -3,13 +3,15 @@ package com.example.questions;
 import net.serenitybdd.annotations.Step;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Question;
-import net.serenitybdd.screenplay.questions.Text;
-import net.serenitybdd.screenplay.questions.Visibility;
 import net.serenitybdd.screenplay.targets.Target;
 
+import java.util.Map;
+
 /**
  * Screenplay pattern questions for dashboard state verification
  * Provides methods to query the current state of the dashboard
+ * Each question reads the live page in one browser call (see {@link ElementStates}), so they can
+ * be polled with {@code eventually(...)}; use {@link #snapshot()} to check several targets at once.
  */
 public class DashboardState {
 
@@ -22,7 +24,7 @@ public class DashboardState {
             @Override
             @Step("{0} checks if dashboard is displayed")
             public Boolean answeredBy(Actor actor) {
-                return Visibility.of(DASHBOARD_TITLE).answeredBy(actor);
+                return stateOf(DASHBOARD_TITLE, actor).visible();
             }
         };
     }
@@ -32,7 +34,7 @@ public class DashboardState {
             @Override
             @Step("{0} reads the dashboard title")
             public String answeredBy(Actor actor) {
-                return Text.of(DASHBOARD_TITLE).answeredBy(actor);
+                return stateOf(DASHBOARD_TITLE, actor).text();
             }
         };
     }
@@ -42,7 +44,7 @@ public class DashboardState {
             @Override
             @Step("{0} checks if user profile is visible")
             public Boolean answeredBy(Actor actor) {
-                return Visibility.of(USER_PROFILE).answeredBy(actor);
+                return stateOf(USER_PROFILE, actor).visible();
             }
         };
     }
@@ -52,8 +54,19 @@ public class DashboardState {
             @Override
             @Step("{0} checks if navigation menu is visible")
             public Boolean answeredBy(Actor actor) {
-                return Visibility.of(NAVIGATION_MENU).answeredBy(actor);
+                return stateOf(NAVIGATION_MENU, actor).visible();
             }
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * @return Question answering the state of every dashboard target at once
+     */
+    public static Question<Map<Target, ElementState>> snapshot() {
+        return ElementStates.of(DASHBOARD_TITLE, USER_PROFILE, NAVIGATION_MENU);
+    }
+
+    private static ElementState stateOf(Target target, Actor actor) {
+        return ElementStates.of(target).answeredBy(actor).get(target);
+    }
+}
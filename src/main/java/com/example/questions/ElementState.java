@@ -0,0 +1,14 @@
+package com.example.questions;
+
+/**
+ * State of one element as read by {@link ElementStates}
+ * @param present Whether the locator matched an element
+ * @param visible Whether the element is displayed (not hidden and has a layout box)
+ * @param enabled Whether the element is not disabled
+ * @param text Visible text, empty when the element is hidden or absent
+ */
+public record ElementState(boolean present, boolean visible, boolean enabled, String text) {
+
+    /** State of a locator that matched nothing */
+    public static final ElementState ABSENT = new ElementState(false, false, false, "");
+}
@@ -0,0 +1,157 @@
+package com.example.questions;
+
+import net.serenitybdd.annotations.Step;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Question;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the visibility, enabled state and text of many elements in one executeScript call
+ * Screenplay questions ({@link #of}) and {@link #read} always read the live page, so polling with
+ * {@code eventually(seeThat(...))} sees changes made by page scripts or earlier actions.
+ * Page objects can use {@link #query} instead, which keeps the results in a snapshot per thread
+ * until the current step ends ({@code Hooks} clears it before every step) or an action changes
+ * the page ({@link #clearCache()}); only locators not in the snapshot yet are fetched.
+ * Neither waits for elements to appear.
+ *
+ * Locators are CSS selectors, or XPath expressions when they start with '/' or '('.
+ */
+public final class ElementStates {
+
+    private static final String SCRIPT =
+            "return arguments[0].map(function (locator) {"
+            + "  var element = locator.charAt(0) === '/' || locator.charAt(0) === '('"
+            + "      ? document.evaluate(locator, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+            + "      : document.querySelector(locator);"
+            + "  if (!element) { return null; }"
+            + "  var style = window.getComputedStyle(element);"
+            + "  var visible = style.visibility !== 'hidden' && style.display !== 'none'"
+            + "      && element.getClientRects().length > 0;"
+            + "  var text = visible ? (element.innerText || element.textContent || '').trim() : '';"
+            + "  return [visible, !element.disabled, text];"
+            + "});";
+
+    private static final ThreadLocal<Snapshot> SNAPSHOT = new ThreadLocal<>();
+
+    /**
+     * Element states read on one driver during the current step
+     */
+    private static final class Snapshot {
+        final WebDriver driver;
+        final Map<String, ElementState> states = new HashMap<>();
+
+        Snapshot(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    private ElementStates() {
+    }
+
+    /**
+     * Question answering the state of several targets at once, read from the page every time it is asked
+     * @param targets Targets to read
+     * @return Question answering a state per target, in the given order
+     */
+    public static Question<Map<Target, ElementState>> of(Target... targets) {
+        return new Question<Map<Target, ElementState>>() {
+            @Override
+            @Step("{0} reads the state of the page elements")
+            public Map<Target, ElementState> answeredBy(Actor actor) {
+                List<String> locators = new ArrayList<>(targets.length);
+                for (Target target : targets) {
+                    locators.add(target.getCssOrXPathSelector());
+                }
+                Map<String, ElementState> states = read(BrowseTheWeb.as(actor).getDriver(), locators);
+                Map<Target, ElementState> answer = new LinkedHashMap<>();
+                for (Target target : targets) {
+                    answer.put(target, states.get(target.getCssOrXPathSelector()));
+                }
+                return answer;
+            }
+        };
+    }
+
+    /**
+     * Reads the current state of several elements, bypassing the snapshot
+     * @param driver Driver of the page; must support JavaScript
+     * @param locators CSS selectors or XPath expressions (the first match of each is read)
+     * @return State per locator, in the given order
+     */
+    public static Map<String, ElementState> read(WebDriver driver, Collection<String> locators) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(locators));
+        Map<String, ElementState> fetched = fetch(driver, distinct);
+        Map<String, ElementState> states = new LinkedHashMap<>();
+        for (String locator : locators) {
+            states.put(locator, fetched.get(locator));
+        }
+        return states;
+    }
+
+    /**
+     * Reads the state of several elements, using the current step's snapshot where possible
+     * @param driver Driver of the page; must support JavaScript
+     * @param locators CSS selectors or XPath expressions (the first match of each is read)
+     * @return State per locator, in the given order
+     */
+    public static Map<String, ElementState> query(WebDriver driver, Collection<String> locators) {
+        Snapshot snapshot = SNAPSHOT.get();
+        if (snapshot == null || snapshot.driver != driver) {
+            snapshot = new Snapshot(driver);
+            SNAPSHOT.set(snapshot);
+        }
+        List<String> unknown = new ArrayList<>();
+        for (String locator : locators) {
+            if (!snapshot.states.containsKey(locator)) {
+                unknown.add(locator);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            snapshot.states.putAll(fetch(driver, unknown));
+        }
+        Map<String, ElementState> states = new LinkedHashMap<>();
+        for (String locator : locators) {
+            states.put(locator, snapshot.states.get(locator));
+        }
+        return states;
+    }
+
+    /**
+     * Drops the snapshot of the current thread; call after actions that change the page
+     */
+    public static void clearCache() {
+        SNAPSHOT.remove();
+    }
+
+    private static Map<String, ElementState> fetch(WebDriver driver, List<String> locators) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            throw new IllegalArgumentException("Driver does not support JavaScript: " + driver);
+        }
+        Object result = executor.executeScript(SCRIPT, locators);
+        if (!(result instanceof List<?> values) || values.size() != locators.size()) {
+            throw new IllegalStateException("Unexpected element state result: " + result);
+        }
+        Map<String, ElementState> states = new HashMap<>();
+        for (int i = 0; i < locators.size(); i++) {
+            Object value = values.get(i);
+            if (value instanceof List<?> fields && fields.size() == 3) {
+                states.put(locators.get(i), new ElementState(true, Boolean.TRUE.equals(fields.get(0)),
+                        Boolean.TRUE.equals(fields.get(1)), String.valueOf(fields.get(2))));
+            } else {
+                states.put(locators.get(i), ElementState.ABSENT);
+            }
+        }
+        return states;
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.tasks;
 
+import com.example.abilities.ReuseLoginSessions;
 import com.example.pages.LoginPage;
+import com.example.questions.ElementStates;
 import net.serenitybdd.annotations.Step;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Task;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.actions.Click;
 import net.serenitybdd.screenplay.actions.Enter;
 import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.WebDriver;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
 /**
  * Screenplay pattern task for login functionality
  * Provides a high-level abstraction for login operations
+ * Actors that can {@link ReuseLoginSessions} log in through the UI once per user; later logins
+ * inject the captured session instead (the UI flow itself is covered by login.feature).
  */
 public class Login implements Task {
 
@@ -40,10 +46,23 @@ public class Login implements Task {
     @Override
     @Step("{0} logs in with username '#username' and password '#password'")
     public <T extends Actor> void performAs(T actor) {
+        ReuseLoginSessions sessions = actor.abilityTo(ReuseLoginSessions.class);
+        BrowseTheWeb browser = sessions != null ? BrowseTheWeb.as(actor) : null;
+        WebDriver driver = browser != null ? browser.getDriver() : null;
+        if (sessions != null && sessions.restore(driver, username, password)) {
+            ElementStates.clearCache();
+            return;
+        }
         actor.attemptsTo(
             Enter.theValue(username).into(USERNAME_FIELD),
             Enter.theValue(password).into(PASSWORD_FIELD),
             Click.on(LOGIN_BUTTON)
         );
+        // The page changed, so element states read earlier in this step are out of date
+        ElementStates.clearCache();
+        // Implicit waits are off, so the click returns before the application has redirected
+        if (sessions != null && ReuseLoginSessions.awaitLanding(driver, browser.getWaitForTimeout())) {
+            sessions.capture(driver, username, password);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,277 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Comma (.csv) and tab (.tsv) separated files
+ * The file is memory-mapped and scanned once; each record is split into field offsets into the
+ * mapped buffer and a field only becomes a String when it is used. Filter conditions are checked
+ * on the sliced fields first, so rejected rows never decode their other columns.
+ * Quoting follows RFC 4180 (quoted fields may contain delimiters, line breaks and doubled quotes).
+ * Unquoted values are trimmed like Excel cells; blank lines are skipped.
+ */
+final class CsvFileSource implements TestDataSource {
+
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    @Override
+    public boolean supports(String filePath) {
+        String path = filePath.toLowerCase(Locale.ROOT);
+        return path.endsWith(".csv") || path.endsWith(".tsv");
+    }
+
+    @Override
+    public List<String> getSheetNames(String filePath) {
+        return List.of(sheetNameOf(filePath));
+    }
+
+    @Override
+    public void streamRows(String filePath, String sheetName, BiConsumer<Integer, Map<String, String>> rowConsumer)
+            throws IOException {
+        scan(filePath, sheetName, Map.of(), (rowNumber, row) -> rowConsumer.accept(rowNumber, row.toMap()));
+    }
+
+    @Override
+    public ExcelTable readTable(String filePath, String sheetName) throws IOException {
+        return readTable(filePath, sheetName, Map.of());
+    }
+
+    @Override
+    public ExcelTable readTable(String filePath, String sheetName,
+                                Map<String, Predicate<String>> conditions) throws IOException {
+        // Conditions are applied by the scan itself
+        return ExcelTable.collect(consumer -> scan(filePath, sheetName, conditions, consumer), Map.of());
+    }
+
+    /**
+     * @param filePath Path to the file
+     * @return Name of the single sheet: the file name without extension
+     */
+    static String sheetNameOf(String filePath) {
+        String fileName = Paths.get(filePath).getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+
+    /**
+     * Checks the requested sheet of a file without sheets
+     * @param filePath Path to the file
+     * @param sheetName Requested sheet (null or the file name without extension)
+     * @throws IllegalArgumentException if another sheet is requested
+     */
+    static void checkSheet(String filePath, String sheetName) {
+        if (sheetName != null && !sheetName.equals(sheetNameOf(filePath))) {
+            throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in " + filePath);
+        }
+    }
+
+    private void scan(String filePath, String sheetName, Map<String, Predicate<String>> conditions,
+                      BiConsumer<Integer, DecodedRow> consumer) throws IOException {
+        checkSheet(filePath, sheetName);
+        Path path = Paths.get(filePath);
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + filePath);
+            }
+            buffer = size > 0 ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size) : ByteBuffer.allocate(0);
+        }
+
+        Fields fields = new Fields(buffer, filePath.toLowerCase(Locale.ROOT).endsWith(".tsv") ? (byte) '\t' : (byte) ',');
+        int position = skipByteOrderMark(buffer);
+        position = fields.next(position);
+        if (position < 0) {
+            return;
+        }
+        List<String> headers = new ArrayList<>(fields.count());
+        for (int column = 0; column < fields.count(); column++) {
+            headers.add(fields.text(column).trim());
+        }
+        int[] filterColumns = ExcelTable.filterColumns(headers, conditions);
+
+        DecodedRow row = new DecodedRow(headers);
+        int rowNumber = 0;
+        while ((position = fields.next(position)) >= 0) {
+            if (fields.isBlankLine()) {
+                continue;
+            }
+            rowNumber++;
+            if (!matches(fields, conditions, filterColumns)) {
+                continue;
+            }
+            row.clear();
+            int columns = Math.min(fields.count(), headers.size());
+            for (int column = 0; column < columns; column++) {
+                if (!fields.isEmpty(column)) {
+                    row.setString(column, fields.text(column));
+                }
+            }
+            consumer.accept(rowNumber, row);
+        }
+    }
+
+    private static boolean matches(Fields fields, Map<String, Predicate<String>> conditions, int[] filterColumns) {
+        int i = 0;
+        for (Predicate<String> condition : conditions.values()) {
+            if (!condition.test(fields.text(filterColumns[i++]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipByteOrderMark(ByteBuffer buffer) {
+        if (buffer.limit() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+                && buffer.get(2) == (byte) 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+
+    /**
+     * Field offsets of the current record; reused for every record
+     */
+    private static final class Fields {
+
+        private final ByteBuffer buffer;
+        private final byte delimiter;
+        private final int limit;
+
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private boolean[] quoted = new boolean[16];
+        private int count;
+        private byte[] scratch = new byte[256];
+
+        Fields(ByteBuffer buffer, byte delimiter) {
+            this.buffer = buffer;
+            this.delimiter = delimiter;
+            this.limit = buffer.limit();
+        }
+
+        /**
+         * Splits the record starting at a position
+         * @param position Start of the record
+         * @return Start of the next record, or -1 at the end of the file
+         */
+        int next(int position) {
+            if (position >= limit) {
+                return -1;
+            }
+            count = 0;
+            while (true) {
+                int start = position;
+                int end;
+                boolean isQuoted = position < limit && buffer.get(position) == QUOTE;
+                if (isQuoted) {
+                    start = ++position;
+                    while (position < limit) {
+                        if (buffer.get(position) == QUOTE) {
+                            if (position + 1 < limit && buffer.get(position + 1) == QUOTE) {
+                                position += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        position++;
+                    }
+                    end = position;
+                    // Skip the closing quote and anything up to the next delimiter
+                    while (position < limit && !isFieldEnd(buffer.get(position))) {
+                        position++;
+                    }
+                } else {
+                    while (position < limit && !isFieldEnd(buffer.get(position))) {
+                        position++;
+                    }
+                    end = position;
+                }
+                add(start, end, isQuoted);
+
+                if (position >= limit) {
+                    return limit;
+                }
+                byte separator = buffer.get(position++);
+                if (separator == delimiter) {
+                    continue;
+                }
+                if (separator == CR && position < limit && buffer.get(position) == LF) {
+                    position++;
+                }
+                return position;
+            }
+        }
+
+        int count() {
+            return count;
+        }
+
+        boolean isBlankLine() {
+            return count == 1 && !quoted[0] && starts[0] == ends[0];
+        }
+
+        boolean isEmpty(int column) {
+            return column >= count || starts[column] == ends[column];
+        }
+
+        /**
+         * Decodes a field
+         * @param column Field position
+         * @return Field text, empty if the record has fewer fields
+         */
+        String text(int column) {
+            if (column >= count) {
+                return "";
+            }
+            int length = ends[column] - starts[column];
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(starts[column], scratch, 0, length);
+            if (!quoted[column]) {
+                return new String(scratch, 0, length, StandardCharsets.UTF_8).trim();
+            }
+            // Collapse doubled quotes
+            int written = 0;
+            for (int read = 0; read < length; read++) {
+                scratch[written++] = scratch[read];
+                if (scratch[read] == QUOTE && read + 1 < length && scratch[read + 1] == QUOTE) {
+                    read++;
+                }
+            }
+            return new String(scratch, 0, written, StandardCharsets.UTF_8);
+        }
+
+        private boolean isFieldEnd(byte value) {
+            return value == delimiter || value == LF || value == CR;
+        }
+
+        private void add(int start, int end, boolean isQuoted) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                quoted = Arrays.copyOf(quoted, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            quoted[count] = isQuoted;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.utils;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reusable buffer holding the decoded cells of one sheet row
+ * Numeric, date and boolean cells are kept as primitives next to their cell type, so
+ * {@link ExcelTable} can store them without boxing; text is only produced when asked for.
+ * Readers fill the same instance for every row, consumers must copy what they keep.
+ */
+final class DecodedRow {
+
+    static final byte BLANK = 0;
+    static final byte STRING = 1;
+    static final byte NUMBER = 2;
+    static final byte DATE = 3;
+    static final byte BOOLEAN = 4;
+    static final byte FORMULA_NUMBER = 5;
+
+    private final List<String> headers;
+    private final byte[] types;
+    private final double[] numbers;
+    private final String[] strings;
+
+    /**
+     * @param headers Column names, in sheet order
+     */
+    DecodedRow(List<String> headers) {
+        this.headers = headers;
+        this.types = new byte[headers.size()];
+        this.numbers = new double[headers.size()];
+        this.strings = new String[headers.size()];
+    }
+
+    List<String> headers() {
+        return headers;
+    }
+
+    int size() {
+        return types.length;
+    }
+
+    void clear() {
+        Arrays.fill(types, BLANK);
+        Arrays.fill(strings, null);
+    }
+
+    void setString(int column, String value) {
+        if (column < types.length) {
+            types[column] = STRING;
+            strings[column] = value;
+        }
+    }
+
+    void setNumber(int column, double value, byte type) {
+        if (column < types.length) {
+            types[column] = type;
+            numbers[column] = value;
+        }
+    }
+
+    void setBoolean(int column, boolean value) {
+        setNumber(column, value ? 1 : 0, BOOLEAN);
+    }
+
+    byte type(int column) {
+        return types[column];
+    }
+
+    double number(int column) {
+        return numbers[column];
+    }
+
+    String string(int column) {
+        return strings[column];
+    }
+
+    /**
+     * @param column Column position
+     * @return Cell text, formatted the same way as {@link ExcelUtils#readExcelToMapOfMaps(String, String)}
+     */
+    String text(int column) {
+        return types[column] == STRING ? strings[column] : format(types[column], numbers[column]);
+    }
+
+    /**
+     * @return Copy of the row as a Map of column name to cell text
+     */
+    Map<String, String> toMap() {
+        Map<String, String> rowData = new LinkedHashMap<>();
+        for (int column = 0; column < types.length; column++) {
+            rowData.put(headers.get(column), text(column));
+        }
+        return rowData;
+    }
+
+    /**
+     * Formats a non-text cell
+     * @param type Cell type
+     * @param number Primitive cell value (booleans are 1 or 0)
+     * @return Text representation of the cell
+     */
+    static String format(byte type, double number) {
+        switch (type) {
+            case NUMBER:
+                return ExcelUtils.formatNumericValue(number);
+            case FORMULA_NUMBER:
+                return String.valueOf(number);
+            case DATE:
+                return DateUtil.getJavaDate(number).toString();
+            case BOOLEAN:
+                return String.valueOf(number != 0);
+            default:
+                return "";
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.utils;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of parsed Excel sheets (and sheets of the other {@link TestDataSource} formats)
+ * Entries are keyed by file path, sheet name and the file's modification time and size,
+ * so an edited workbook is parsed again automatically. The cache is bounded and evicts
+ * the least recently used sheet once the limit is reached.
+ * The time taken by each parse is reported to {@link Timings} as a "data" operation.
+ */
+public class ExcelDataCache {
+
+    /** System property overriding the maximum number of cached sheets */
+    public static final String MAX_ENTRIES_PROPERTY = "excel.cache.maxEntries";
+
+    private static final int DEFAULT_MAX_ENTRIES = 32;
+
+    private static final ExcelDataCache INSTANCE =
+            new ExcelDataCache(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+
+    private final int maxEntries;
+    private final Map<Key, CompletableFuture<?>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    ExcelDataCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1, got " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<?>> eldest) {
+                boolean evict = size() > maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * @return Shared cache instance used by the whole test run
+     */
+    public static ExcelDataCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the parsed sheet, reading the file only if it is not cached or has changed on disk.
+     * Concurrent callers asking for the same sheet wait for a single parse.
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read (optional, reads first sheet if null)
+     * @return Read-only table holding all data rows of the sheet
+     * @throws IOException if file cannot be read
+     */
+    public ExcelTable getTable(String filePath, String sheetName) throws IOException {
+        return get(Key.of(filePath, sheetName), () -> TestDataSource.forFile(filePath).readTable(filePath, sheetName));
+    }
+
+    /**
+     * Returns the parsed sheet only if it is already cached for the current version of the file
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet (optional, first sheet if null)
+     * @return Cached table, or null if the sheet has not been loaded (or is still loading)
+     */
+    public ExcelTable peekTable(String filePath, String sheetName) {
+        CompletableFuture<?> future;
+        try {
+            Key key = Key.of(filePath, sheetName);
+            synchronized (entries) {
+                future = entries.get(key);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        hits.incrementAndGet();
+        return (ExcelTable) future.join();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Loader<T> loader) throws IOException {
+        CompletableFuture<T> future;
+        boolean loading = false;
+
+        synchronized (entries) {
+            future = (CompletableFuture<T>) entries.get(key);
+            if (future == null) {
+                // Drop entries for older versions of the same file and sheet
+                entries.keySet().removeIf(existing -> existing.sameSheet(key));
+                future = new CompletableFuture<>();
+                entries.put(key, future);
+                loading = true;
+            }
+        }
+
+        if (loading) {
+            misses.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                future.complete(loader.load());
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+                synchronized (entries) {
+                    entries.remove(key, future);
+                }
+            } finally {
+                Timings.record("data", key.label(), start);
+            }
+        } else {
+            hits.incrementAndGet();
+        }
+
+        return await(future);
+    }
+
+    /**
+     * Removes all cached sheets and resets the counters
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return Maximum number of sheets kept before the least recently used one is evicted
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelDataCache{size=" + size() + ", hits=" + hits.get() + ", misses=" + misses.get()
+                + ", evictions=" + evictions.get() + "}";
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    /**
+     * Cache key identifying one version of a sheet on disk
+     */
+    private record Key(String path, String sheetName, long lastModified, long size) {
+
+        static Key of(String filePath, String sheetName) throws IOException {
+            File file = new File(filePath);
+            if (!file.isFile()) {
+                throw new FileNotFoundException("Excel file not found: " + filePath);
+            }
+            return new Key(file.getAbsolutePath(), sheetName, file.lastModified(), file.length());
+        }
+
+        boolean sameSheet(Key other) {
+            return path.equals(other.path) && Objects.equals(sheetName, other.sheetName);
+        }
+
+        /**
+         * @return File name and sheet, e.g. "login-data.xlsx|Users"
+         */
+        String label() {
+            return new File(path).getName() + "|" + (sheetName != null ? sheetName : "(first sheet)");
+        }
+    }
+}
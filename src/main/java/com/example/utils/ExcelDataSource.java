@@ -0,0 +1,200 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Lazy handle on the test data of one sheet
+ * Creating a handle does no I/O: the sheet is resolved the first time a row or value is read.
+ * Unfiltered handles use the shared {@link ExcelDataCache}. Filtered handles ({@link #where})
+ * select rows from the cached sheet when it is already loaded, and otherwise stream the sheet
+ * once and drop non-matching rows during the scan. Rows and values handed out are memoized,
+ * so repeated lookups within a scenario cost one map lookup.
+ * Rows and sheets read are reported to {@link TestDataUsage} for change-based test selection.
+ * Handles are not thread-safe; step definitions keep one per scenario.
+ */
+public class ExcelDataSource {
+
+    private final String filePath;
+    private final String sheetName;
+    private final Map<String, Predicate<String>> conditions;
+    private final List<String> conditionDescriptions;
+
+    private ExcelTable table;
+    private final Map<Integer, Map<String, String>> rowMemo = new HashMap<>();
+    private final Map<Integer, Map<String, String>> valueMemo = new HashMap<>();
+
+    private ExcelDataSource(String filePath, String sheetName, Map<String, Predicate<String>> conditions,
+                            List<String> conditionDescriptions) {
+        this.filePath = filePath;
+        this.sheetName = sheetName;
+        this.conditions = conditions;
+        this.conditionDescriptions = conditionDescriptions;
+    }
+
+    /**
+     * Creates a handle without reading the file
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet (optional, first sheet if null)
+     * @return Lazy data source
+     */
+    public static ExcelDataSource of(String filePath, String sheetName) {
+        return new ExcelDataSource(filePath, sheetName, Map.of(), List.of());
+    }
+
+    /**
+     * Restricts the handle to rows whose column holds the given value
+     * @param columnName Column name
+     * @param value Expected cell text
+     * @return New lazy data source; this handle is unchanged
+     */
+    public ExcelDataSource where(String columnName, String value) {
+        return where(columnName, value::equals, columnName + " = " + value);
+    }
+
+    /**
+     * Restricts the handle to rows whose column matches a predicate
+     * @param columnName Column name
+     * @param predicate Condition on the cell text
+     * @return New lazy data source; this handle is unchanged
+     */
+    public ExcelDataSource where(String columnName, Predicate<String> predicate) {
+        return where(columnName, predicate, columnName + " matches " + predicate);
+    }
+
+    private ExcelDataSource where(String columnName, Predicate<String> predicate, String description) {
+        Map<String, Predicate<String>> combined = new LinkedHashMap<>(conditions);
+        combined.merge(columnName, predicate, Predicate::and);
+        List<String> descriptions = new ArrayList<>(conditionDescriptions);
+        descriptions.add(description);
+        return new ExcelDataSource(filePath, sheetName, Collections.unmodifiableMap(combined), List.copyOf(descriptions));
+    }
+
+    /**
+     * Gets a row, loading the sheet on first use
+     * @param rowNumber Row number (1-based, excluding header)
+     * @return Read-only Map of column name to cell value, or null if the row does not exist or is filtered out
+     */
+    public Map<String, String> getRow(int rowNumber) {
+        Map<String, String> row = rowMemo.get(rowNumber);
+        if (row == null && !rowMemo.containsKey(rowNumber)) {
+            recordRow(rowNumber);
+            Map<String, String> view = loaded().get(rowNumber);
+            row = (view != null) ? Collections.unmodifiableMap(new LinkedHashMap<>(view)) : null;
+            rowMemo.put(rowNumber, row);
+        }
+        return row;
+    }
+
+    /**
+     * Gets a single value without decoding the rest of the row
+     * @param rowNumber Row number (1-based, excluding header)
+     * @param columnName Column name
+     * @return Cell value, or null if the row or column does not exist or the row is filtered out
+     */
+    public String getValue(int rowNumber, String columnName) {
+        Map<String, String> row = rowMemo.get(rowNumber);
+        if (row != null) {
+            return row.get(columnName);
+        }
+        Map<String, String> values = valueMemo.computeIfAbsent(rowNumber, number -> new HashMap<>());
+        if (!values.containsKey(columnName)) {
+            recordRow(rowNumber);
+            values.put(columnName, loaded().getValue(rowNumber, columnName));
+        }
+        return values.get(columnName);
+    }
+
+    /**
+     * @return Number of (matching) rows, loading the sheet on first use
+     */
+    public int size() {
+        return table().size();
+    }
+
+    public boolean isEmpty() {
+        return table().isEmpty();
+    }
+
+    /**
+     * @return Read-only List view of all (matching) rows, in sheet order
+     */
+    public List<Map<String, String>> rows() {
+        return table().rows();
+    }
+
+    /**
+     * Iterates over all (matching) rows in sheet order
+     * @param action Receives the row number and a view of the row data
+     */
+    public void forEach(BiConsumer<Integer, Map<String, String>> action) {
+        table().forEach(action);
+    }
+
+    /**
+     * @return Underlying table, for typed access ({@link ExcelTable#getInt} etc.)
+     */
+    public ExcelTable table() {
+        TestDataUsage.recordSheet(filePath, sheetName);
+        return loaded();
+    }
+
+    private ExcelTable loaded() {
+        if (table == null) {
+            table = load();
+        }
+        return table;
+    }
+
+    /**
+     * @return true once the sheet has been read
+     */
+    public boolean isLoaded() {
+        return table != null;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    @Override
+    public String toString() {
+        String source = filePath + (sheetName != null ? " [" + sheetName + "]" : "");
+        return conditionDescriptions.isEmpty() ? source : source + " where " + String.join(" and ", conditionDescriptions);
+    }
+
+    private void recordRow(int rowNumber) {
+        // Which rows match a filter depends on the whole sheet
+        if (conditions.isEmpty()) {
+            TestDataUsage.recordRow(filePath, sheetName, rowNumber);
+        } else {
+            TestDataUsage.recordSheet(filePath, sheetName);
+        }
+    }
+
+    private ExcelTable load() {
+        try {
+            ExcelDataCache cache = ExcelDataCache.getInstance();
+            if (conditions.isEmpty()) {
+                return cache.getTable(filePath, sheetName);
+            }
+            ExcelTable cached = cache.peekTable(filePath, sheetName);
+            return (cached != null) ? cached.filter(conditions)
+                    : TestDataSource.forFile(filePath).readTable(filePath, sheetName, conditions);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read Excel file: " + this, e);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command line tool that fills Scenario Outline examples from workbook rows before the tests run
+ * Usage: {@code ExcelExamplesExpander [sourceDirectory] [targetDirectory]} (defaults to
+ * src/test/resources/features and target/test-classes/features).
+ *
+ * An outline tagged {@code @excel:<workbook>:<sheet>} (sheet optional, first sheet if omitted) gets one
+ * example per data row. If the outline has an Examples table with only a header row, the header
+ * selects the columns; otherwise an Examples table with every column is appended. The column
+ * {@code rowNumber} holds the sheet row number. The workbook is resolved relative to the working
+ * directory, then the feature file, then src/test/resources/test-data.
+ * Expanded features are written over the copies in the target directory, so the source files keep
+ * their short form and every data row becomes its own scenario with its values already bound.
+ */
+public class ExcelExamplesExpander {
+
+    private static final String DEFAULT_SOURCE_DIR = "src/test/resources/features";
+    private static final String DEFAULT_TARGET_DIR = "target/test-classes/features";
+    private static final String TEST_DATA_DIR = "src/test/resources/test-data";
+
+    private static final String EXCEL_TAG = "@excel:";
+    private static final String ROW_NUMBER_COLUMN = "rowNumber";
+
+    public static void main(String[] args) throws IOException {
+        Path sourceDir = Paths.get(args.length > 0 ? args[0] : DEFAULT_SOURCE_DIR);
+        Path targetDir = Paths.get(args.length > 1 ? args[1] : DEFAULT_TARGET_DIR);
+        if (!Files.isDirectory(sourceDir)) {
+            System.out.println("No feature directory found at " + sourceDir + ", nothing to expand");
+            return;
+        }
+
+        List<Path> features;
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            features = files.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(".feature"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        int expanded = 0;
+        for (Path feature : features) {
+            List<String> lines = Files.readAllLines(feature, StandardCharsets.UTF_8);
+            List<String> result = expand(lines, feature.getParent());
+            if (!result.equals(lines)) {
+                Path target = targetDir.resolve(sourceDir.relativize(feature).toString());
+                Files.createDirectories(target.getParent());
+                Files.write(target, result, StandardCharsets.UTF_8);
+                System.out.println("Expanded " + feature + " -> " + target);
+                expanded++;
+            }
+        }
+        System.out.println("Expanded Excel examples in " + expanded + " of " + features.size() + " feature file(s)");
+    }
+
+    /**
+     * Expands every {@code @excel} tagged outline of a feature
+     * @param lines Feature file lines
+     * @param featureDir Directory of the feature file, used to resolve relative workbook paths
+     * @return Feature lines with the examples filled in
+     * @throws IOException if a referenced workbook cannot be read
+     */
+    static List<String> expand(List<String> lines, Path featureDir) throws IOException {
+        List<String> result = new ArrayList<>(lines.size());
+        String pendingSource = null;
+        int i = 0;
+        while (i < lines.size()) {
+            String line = lines.get(i);
+            String trimmed = line.trim();
+            if (trimmed.startsWith("@")) {
+                String source = excelSource(trimmed);
+                pendingSource = (source != null) ? source : pendingSource;
+                result.add(line);
+                i++;
+            } else if (pendingSource != null && isOutline(trimmed)) {
+                int end = endOfBlock(lines, i + 1);
+                result.addAll(expandOutline(lines.subList(i, end), pendingSource, featureDir, i + 1));
+                pendingSource = null;
+                i = end;
+            } else {
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    // A tag only applies to the block directly below it
+                    pendingSource = null;
+                }
+                result.add(line);
+                i++;
+            }
+        }
+        return result;
+    }
+
+    private static List<String> expandOutline(List<String> outline, String source, Path featureDir, int lineNumber)
+            throws IOException {
+        String indent = indentOf(outline.get(0));
+        ExcelTable table = readSource(source, featureDir, lineNumber);
+
+        List<String> result = new ArrayList<>(outline);
+        int examplesLine = -1;
+        for (int i = 1; i < result.size(); i++) {
+            if (isExamples(result.get(i).trim())) {
+                examplesLine = i;
+                break;
+            }
+        }
+
+        List<String> columns;
+        int insertAt;
+        String tableIndent;
+        if (examplesLine >= 0) {
+            int headerLine = nextTableRow(result, examplesLine + 1);
+            if (headerLine < 0) {
+                throw new IllegalArgumentException("Examples of the outline at line " + lineNumber
+                        + " need a header row to select columns from " + source);
+            }
+            if (nextTableRow(result, headerLine + 1) >= 0) {
+                System.out.println("Outline at line " + lineNumber + " already has examples, " + EXCEL_TAG
+                        + source + " ignored");
+                return outline;
+            }
+            columns = parseRow(result.get(headerLine));
+            insertAt = headerLine + 1;
+            tableIndent = indentOf(result.get(headerLine));
+        } else {
+            columns = new ArrayList<>();
+            columns.add(ROW_NUMBER_COLUMN);
+            columns.addAll(table.getHeaders());
+            // Keep trailing blank lines and comments after the generated table
+            insertAt = result.size();
+            while (insertAt > 1 && (result.get(insertAt - 1).isBlank() || result.get(insertAt - 1).trim().startsWith("#"))) {
+                insertAt--;
+            }
+            List<String> examplesHeader = new ArrayList<>();
+            examplesHeader.add("");
+            examplesHeader.add(indent + "  Examples: " + source);
+            examplesHeader.add(formatRow(indent + "    ", columns));
+            result.addAll(insertAt, examplesHeader);
+            insertAt += examplesHeader.size();
+            tableIndent = indent + "    ";
+        }
+
+        for (String column : columns) {
+            if (!ROW_NUMBER_COLUMN.equals(column) && !table.getHeaders().contains(column)) {
+                throw new IllegalArgumentException("Column '" + column + "' of the outline at line " + lineNumber
+                        + " not found in " + source);
+            }
+        }
+        List<String> rows = new ArrayList<>(table.size());
+        table.forEach((rowNumber, rowData) -> {
+            List<String> values = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                values.add(ROW_NUMBER_COLUMN.equals(column) ? String.valueOf(rowNumber) : rowData.get(column));
+            }
+            rows.add(formatRow(tableIndent, values));
+        });
+        result.addAll(insertAt, rows);
+        return result;
+    }
+
+    private static ExcelTable readSource(String source, Path featureDir, int lineNumber) throws IOException {
+        int separator = source.lastIndexOf(':');
+        boolean hasSheet = separator > 0 && !source.substring(separator + 1).contains(".");
+        String workbook = hasSheet ? source.substring(0, separator) : source;
+        String sheetName = hasSheet ? source.substring(separator + 1) : null;
+
+        Path path = resolveWorkbook(workbook, featureDir);
+        if (path == null) {
+            throw new IOException("Workbook '" + workbook + "' for the outline at line " + lineNumber + " not found");
+        }
+        return TestDataSource.forFile(path.toString()).readTable(path.toString(), sheetName);
+    }
+
+    private static Path resolveWorkbook(String workbook, Path featureDir) {
+        List<Path> candidates = new ArrayList<>();
+        candidates.add(Paths.get(workbook));
+        if (featureDir != null) {
+            candidates.add(featureDir.resolve(workbook));
+        }
+        candidates.add(Paths.get(TEST_DATA_DIR, workbook));
+        return candidates.stream().filter(Files::isRegularFile).findFirst().orElse(null);
+    }
+
+    private static String excelSource(String tagLine) {
+        for (String tag : tagLine.split("\\s+")) {
+            if (tag.startsWith(EXCEL_TAG) && tag.length() > EXCEL_TAG.length()) {
+                return tag.substring(EXCEL_TAG.length());
+            }
+        }
+        return null;
+    }
+
+    private static int endOfBlock(List<String> lines, int from) {
+        for (int i = from; i < lines.size(); i++) {
+            String trimmed = lines.get(i).trim();
+            if ((trimmed.startsWith("Scenario") && !isExamples(trimmed)) || trimmed.startsWith("Rule:")
+                    || trimmed.startsWith("Background:") || trimmed.startsWith("Example:")) {
+                return i;
+            }
+            if (trimmed.startsWith("@") && !isExamples(nextContentLine(lines, i + 1))) {
+                return i;
+            }
+        }
+        return lines.size();
+    }
+
+    private static String nextContentLine(List<String> lines, int from) {
+        for (int i = from; i < lines.size(); i++) {
+            String trimmed = lines.get(i).trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#") && !trimmed.startsWith("@")) {
+                return trimmed;
+            }
+        }
+        return "";
+    }
+
+    private static int nextTableRow(List<String> lines, int from) {
+        for (int i = from; i < lines.size(); i++) {
+            String trimmed = lines.get(i).trim();
+            if (trimmed.startsWith("|")) {
+                return i;
+            }
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isOutline(String trimmed) {
+        return trimmed.startsWith("Scenario Outline:") || trimmed.startsWith("Scenario Template:");
+    }
+
+    private static boolean isExamples(String trimmed) {
+        return trimmed.startsWith("Examples:") || trimmed.startsWith("Scenarios:");
+    }
+
+    private static List<String> parseRow(String line) {
+        String trimmed = line.trim();
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        for (int i = 1; i < trimmed.length(); i++) {
+            char ch = trimmed.charAt(i);
+            if (ch == '\\' && i + 1 < trimmed.length()) {
+                cell.append(ch).append(trimmed.charAt(++i));
+            } else if (ch == '|') {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(ch);
+            }
+        }
+        return cells;
+    }
+
+    private static String formatRow(String indent, List<String> values) {
+        StringBuilder row = new StringBuilder(indent).append('|');
+        for (String value : values) {
+            row.append(' ').append(escape(value)).append(" |");
+        }
+        return row.toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("|", "\\|").replace("\n", "\\n");
+    }
+
+    private static String indentOf(String line) {
+        int i = 0;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return line.substring(0, i);
+    }
+}
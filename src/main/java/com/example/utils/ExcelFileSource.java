@@ -0,0 +1,53 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Excel workbooks (.xlsx, .xls) read through {@link ExcelUtils}, including compiled snapshots
+ */
+final class ExcelFileSource implements TestDataSource {
+
+    @Override
+    public boolean supports(String filePath) {
+        return ExcelUtils.isExcelFile(filePath);
+    }
+
+    @Override
+    public List<String> getSheetNames(String filePath) throws IOException {
+        return ExcelUtils.getSheetNames(filePath);
+    }
+
+    @Override
+    public void streamRows(String filePath, String sheetName, BiConsumer<Integer, Map<String, String>> rowConsumer)
+            throws IOException {
+        ExcelUtils.streamExcelRows(filePath, sheetName, rowConsumer);
+    }
+
+    @Override
+    public int getRowCount(String filePath, String sheetName) throws IOException {
+        return ExcelUtils.getRowCount(filePath, sheetName);
+    }
+
+    @Override
+    public SheetInfo getSheetInfo(String filePath, String sheetName) throws IOException {
+        // Open the file once for both lookups
+        try (ExcelWorkbook workbook = ExcelWorkbook.open(filePath)) {
+            return new SheetInfo(workbook.getSheetNames(), workbook.getRowCount(sheetName));
+        }
+    }
+
+    @Override
+    public ExcelTable readTable(String filePath, String sheetName) throws IOException {
+        return ExcelUtils.readExcelTable(filePath, sheetName);
+    }
+
+    @Override
+    public ExcelTable readTable(String filePath, String sheetName,
+                                Map<String, Predicate<String>> conditions) throws IOException {
+        return ExcelTable.read(filePath, sheetName, conditions);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content hashes of one sheet and each of its data rows
+ * Hashes are computed from the cell text as read by {@link ExcelUtils}, so formatting-only edits
+ * and saving a workbook without changes keep them stable. Row hashes include the header row:
+ * renaming or moving a column changes every row, inserting a row changes the rows below it.
+ */
+public final class ExcelFingerprint {
+
+    private static final int HASH_BYTES = 8;
+    private static final byte FIELD_SEPARATOR = 0x1f;
+    private static final byte NULL_MARKER = 0x00;
+
+    private final String sheetHash;
+    private final Map<Integer, String> rowHashes;
+
+    private ExcelFingerprint(String sheetHash, Map<Integer, String> rowHashes) {
+        this.sheetHash = sheetHash;
+        this.rowHashes = rowHashes;
+    }
+
+    /**
+     * Fingerprints a sheet, through the shared {@link ExcelDataCache}
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet (optional, first sheet if null)
+     * @return Fingerprint of the sheet
+     * @throws IOException if file cannot be read
+     */
+    public static ExcelFingerprint read(String filePath, String sheetName) throws IOException {
+        return of(ExcelDataCache.getInstance().getTable(filePath, sheetName));
+    }
+
+    /**
+     * Fingerprints a table that has already been read
+     * @param table Sheet data
+     * @return Fingerprint of the sheet
+     */
+    public static ExcelFingerprint of(ExcelTable table) {
+        List<String> headers = table.getHeaders();
+        MessageDigest sheet = newDigest();
+        MessageDigest row = newDigest();
+        update(sheet, headers);
+        Map<Integer, String> rowHashes = new HashMap<>(table.size() * 2);
+        table.forEach((rowNumber, rowData) -> {
+            update(row, headers);
+            for (String header : headers) {
+                update(row, rowData.get(header));
+            }
+            byte[] rowDigest = row.digest();
+            rowHashes.put(rowNumber, toHex(rowDigest));
+            update(sheet, String.valueOf(rowNumber));
+            sheet.update(rowDigest);
+        });
+        return new ExcelFingerprint(toHex(sheet.digest()), rowHashes);
+    }
+
+    /**
+     * Hashes arbitrary content the same way as sheets and rows
+     * @param content Bytes to hash
+     * @return Hash as hex string
+     */
+    public static String hash(byte[] content) {
+        return toHex(newDigest().digest(content));
+    }
+
+    /**
+     * @return Hash of the header row and all data rows
+     */
+    public String getSheetHash() {
+        return sheetHash;
+    }
+
+    /**
+     * @param rowNumber Row number (1-based, excluding header)
+     * @return Hash of the row, or null if the sheet has no such row
+     */
+    public String getRowHash(int rowNumber) {
+        return rowHashes.get(rowNumber);
+    }
+
+    private static void update(MessageDigest digest, List<String> values) {
+        for (String value : values) {
+            update(digest, value);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(NULL_MARKER);
+        } else {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(FIELD_SEPARATOR);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest, 0, HASH_BYTES);
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-compiled binary snapshot of a workbook
+ * A snapshot holds every sheet of a workbook as a dictionary-encoded column table so it
+ * can be loaded through a memory-mapped file instead of unzipping and parsing the XML.
+ * Snapshots are written by {@link ExcelSnapshotCompiler} and are only used while they are
+ * newer than the source workbook and were compiled from a file of the same size.
+ *
+ * Layout (big-endian): magic, version, source size, first sheet name, sheet count, then per
+ * sheet its name, byte length, headers, row numbers and per column a typed flag, for typed
+ * columns one cell type byte and one double per row, then a value dictionary followed by one
+ * dictionary index per row (-1 for cells without text). Strings are length-prefixed UTF-8.
+ */
+public class ExcelSnapshot {
+
+    /** System property overriding the directory that holds snapshots */
+    public static final String SNAPSHOT_DIR_PROPERTY = "excel.snapshot.dir";
+
+    /** System property that disables snapshot loading when set to false */
+    public static final String SNAPSHOT_ENABLED_PROPERTY = "excel.snapshot.enabled";
+
+    static final String DEFAULT_SNAPSHOT_DIR = "target/excel-snapshots";
+
+    private static final int MAGIC = 0x584C534E; // "XLSN"
+    private static final int VERSION = 2;
+    private static final String EXTENSION = ".snap";
+
+    private ExcelSnapshot() {
+    }
+
+    /**
+     * Loads a sheet from the workbook's snapshot if an up-to-date snapshot exists
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read (optional, reads first sheet if null)
+     * @return Table for the sheet, or null if there is no usable snapshot for it
+     */
+    public static ExcelTable load(String filePath, String sheetName) {
+        if (!Boolean.parseBoolean(System.getProperty(SNAPSHOT_ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+        File source = new File(filePath);
+        File snapshot = snapshotPathFor(filePath).toFile();
+        if (!source.isFile() || !snapshot.isFile() || snapshot.lastModified() < source.lastModified()) {
+            return null;
+        }
+        try {
+            return read(snapshot.toPath(), source.length(), sheetName);
+        } catch (IOException | RuntimeException e) {
+            // A stale or damaged snapshot is never fatal, the workbook is simply parsed instead
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot for a workbook
+     * @param filePath Path to the source Excel file
+     * @param firstSheetName Name of the workbook's first sheet, used when no sheet name is requested
+     * @param sheets Tables to store, keyed by sheet name in workbook order
+     * @return Path of the written snapshot
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static Path write(String filePath, String firstSheetName, Map<String, ExcelTable> sheets) throws IOException {
+        if (sheets.isEmpty()) {
+            throw new IllegalArgumentException("No sheets to write for " + filePath);
+        }
+        Path target = snapshotPathFor(filePath);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+
+        try {
+            writeSnapshot(temp, filePath, firstSheetName, sheets);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeSnapshot(Path temp, String filePath, String firstSheetName,
+                                      Map<String, ExcelTable> sheets) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(new File(filePath).length());
+            writeString(out, firstSheetName);
+            out.writeInt(sheets.size());
+            for (Map.Entry<String, ExcelTable> sheet : sheets.entrySet()) {
+                writeString(out, sheet.getKey());
+                ByteArrayOutputStream sheetBytes = new ByteArrayOutputStream();
+                writeTable(new DataOutputStream(sheetBytes), sheet.getValue());
+                out.writeInt(sheetBytes.size());
+                sheetBytes.writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Resolves where the snapshot of a workbook lives
+     * @param filePath Path to the Excel file
+     * @return Snapshot path mirroring the workbook path below the snapshot directory
+     */
+    public static Path snapshotPathFor(String filePath) {
+        Path base = Paths.get("").toAbsolutePath();
+        Path source = Paths.get(filePath).toAbsolutePath().normalize();
+        Path relative = source.startsWith(base) ? base.relativize(source) : source.getRoot().relativize(source);
+        Path directory = Paths.get(System.getProperty(SNAPSHOT_DIR_PROPERTY, DEFAULT_SNAPSHOT_DIR));
+        return directory.resolve(relative.toString() + EXTENSION);
+    }
+
+    private static ExcelTable read(Path snapshot, long sourceSize, String sheetName) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != sourceSize) {
+            return null;
+        }
+        String wanted = (sheetName != null) ? sheetName : readString(buffer);
+        if (sheetName != null) {
+            skipString(buffer);
+        }
+
+        int sheetCount = buffer.getInt();
+        for (int i = 0; i < sheetCount; i++) {
+            String name = readString(buffer);
+            int length = buffer.getInt();
+            if (name.equals(wanted)) {
+                return readTable(buffer);
+            }
+            buffer.position(buffer.position() + length);
+        }
+        return null;
+    }
+
+    private static void writeTable(DataOutputStream out, ExcelTable table) throws IOException {
+        String[] headers = table.headerArray();
+        int[] rowNumbers = table.rowNumberArray();
+
+        out.writeInt(headers.length);
+        for (String header : headers) {
+            writeString(out, header);
+        }
+        out.writeInt(rowNumbers.length);
+        for (int rowNumber : rowNumbers) {
+            out.writeInt(rowNumber);
+        }
+        for (int column = 0; column < headers.length; column++) {
+            String[] values = table.columnArray(column);
+            byte[] types = table.typeArray(column);
+            out.writeBoolean(types != null);
+            if (types != null) {
+                double[] numbers = table.numberArray(column);
+                out.write(types);
+                for (double number : numbers) {
+                    out.writeDouble(number);
+                }
+            }
+            Map<String, Integer> dictionary = new LinkedHashMap<>();
+            for (int position = 0; position < rowNumbers.length; position++) {
+                if (values != null && values[position] != null) {
+                    dictionary.putIfAbsent(values[position], dictionary.size());
+                }
+            }
+            out.writeInt(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                writeString(out, value);
+            }
+            for (int position = 0; position < rowNumbers.length; position++) {
+                String value = (values != null) ? values[position] : null;
+                out.writeInt(value != null ? dictionary.get(value) : -1);
+            }
+        }
+        out.flush();
+    }
+
+    private static ExcelTable readTable(MappedByteBuffer buffer) {
+        String[] headers = new String[buffer.getInt()];
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = readString(buffer);
+        }
+        int[] rowNumbers = new int[buffer.getInt()];
+        for (int i = 0; i < rowNumbers.length; i++) {
+            rowNumbers[i] = buffer.getInt();
+        }
+        String[][] columns = new String[headers.length][rowNumbers.length];
+        byte[][] types = new byte[headers.length][];
+        double[][] numbers = new double[headers.length][];
+        for (int column = 0; column < headers.length; column++) {
+            if (buffer.get() != 0) {
+                types[column] = new byte[rowNumbers.length];
+                buffer.get(types[column]);
+                numbers[column] = new double[rowNumbers.length];
+                buffer.asDoubleBuffer().get(numbers[column]);
+                buffer.position(buffer.position() + rowNumbers.length * Double.BYTES);
+            }
+            String[] dictionary = new String[buffer.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(buffer);
+            }
+            for (int position = 0; position < rowNumbers.length; position++) {
+                int index = buffer.getInt();
+                columns[column][position] = (index >= 0) ? dictionary[index] : null;
+            }
+        }
+        return new ExcelTable(headers, columns, types, numbers, rowNumbers);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        buffer.position(buffer.position() + length);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command line tool that compiles workbooks into binary snapshots
+ * Usage: {@code ExcelSnapshotCompiler [sourceDirectory]} (defaults to src/test/resources).
+ * Every .xlsx/.xls file below the directory is converted with {@link ExcelSnapshot}.
+ * Sheets without a header row are skipped; they are still read from the workbook at runtime.
+ */
+public class ExcelSnapshotCompiler {
+
+    private static final String DEFAULT_SOURCE_DIR = "src/test/resources";
+
+    public static void main(String[] args) throws IOException {
+        Path sourceDir = Paths.get(args.length > 0 ? args[0] : DEFAULT_SOURCE_DIR);
+        if (!Files.isDirectory(sourceDir)) {
+            System.out.println("No test data directory found at " + sourceDir + ", nothing to compile");
+            return;
+        }
+
+        List<Path> workbooks;
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            workbooks = files.filter(Files::isRegularFile)
+                    .filter(ExcelSnapshotCompiler::isWorkbook)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        int compiled = 0;
+        for (Path workbook : workbooks) {
+            if (compile(workbook.toString())) {
+                compiled++;
+            }
+        }
+        System.out.println("Compiled " + compiled + " of " + workbooks.size() + " workbook(s) into "
+                + System.getProperty(ExcelSnapshot.SNAPSHOT_DIR_PROPERTY, ExcelSnapshot.DEFAULT_SNAPSHOT_DIR));
+    }
+
+    /**
+     * Compiles a single workbook
+     * @param filePath Path to the Excel file
+     * @return true if a snapshot was written
+     */
+    static boolean compile(String filePath) {
+        try (ExcelWorkbook workbook = ExcelWorkbook.open(filePath)) {
+            List<String> sheetNames = workbook.getSheetNames();
+            Map<String, ExcelTable> sheets = new LinkedHashMap<>();
+            for (String sheetName : sheetNames) {
+                try {
+                    sheets.put(sheetName, workbook.readSheet(sheetName));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Skipping sheet '" + sheetName + "' in " + filePath + ": " + e.getMessage());
+                }
+            }
+            if (sheets.isEmpty()) {
+                System.out.println("Skipping " + filePath + ": no readable sheets");
+                return false;
+            }
+            Path snapshot = ExcelSnapshot.write(filePath, sheetNames.get(0), sheets);
+            System.out.println("Compiled " + filePath + " -> " + snapshot);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // Invalid or placeholder workbooks must not break the build, they are parsed at runtime instead
+            System.out.println("Skipping " + filePath + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isWorkbook(Path path) {
+        String fileName = path.getFileName().toString();
+        return !fileName.startsWith("~$") && ExcelUtils.isExcelFile(fileName);
+    }
+}
@@ -0,0 +1,644 @@
+package com.example.utils;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Compact, read-only, column-oriented representation of a sheet
+ * Headers are stored once and shared by all rows, cell values are stored per column
+ * and repeated values (status columns, flags, roles) are deduplicated. Rows are exposed
+ * as lightweight {@code Map<String, String>} views created on demand, so the table can
+ * be used wherever the Map of Maps / List of Maps structures were used before.
+ * Numeric, date and boolean cells are kept in primitive arrays and can be read with the
+ * typed getters ({@link #getInt}, {@link #getDouble}, {@link #getLocalDate}, ...); they are
+ * only formatted as text when a caller asks for a String.
+ */
+public class ExcelTable {
+
+    private static final int ABSENT = -1;
+
+    private final String[] headers;
+    private final Map<String, Integer> columnIndex;
+    private final String[][] columns;
+    private final byte[][] types;
+    private final double[][] numbers;
+    private final int[] rowNumbers;
+    private final int[] positions;
+
+    /**
+     * Creates a table from column storage
+     * @param headers Column names
+     * @param columns Cell values, one array per column indexed by row position
+     * @param rowNumbers Row number of each position, in ascending order
+     */
+    ExcelTable(String[] headers, String[][] columns, int[] rowNumbers) {
+        this(headers, columns, new byte[headers.length][], new double[headers.length][], rowNumbers);
+    }
+
+    /**
+     * Creates a table from typed column storage
+     * @param headers Column names
+     * @param columns Text cells per column; for typed columns only STRING cells are set (array may be null)
+     * @param types Cell type per row position for typed columns, null for text-only columns
+     * @param numbers Primitive values per row position for typed columns, null for text-only columns
+     * @param rowNumbers Row number of each position, in ascending order
+     */
+    ExcelTable(String[] headers, String[][] columns, byte[][] types, double[][] numbers, int[] rowNumbers) {
+        this.headers = headers;
+        this.columns = columns;
+        this.types = types;
+        this.numbers = numbers;
+        this.rowNumbers = rowNumbers;
+        this.positions = new int[rowNumbers.length > 0 ? rowNumbers[rowNumbers.length - 1] + 1 : 0];
+        Arrays.fill(positions, ABSENT);
+        for (int position = 0; position < rowNumbers.length; position++) {
+            positions[rowNumbers[position]] = position;
+        }
+        this.columnIndex = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            columnIndex.put(headers[i], i);
+        }
+    }
+
+    /**
+     * Builds a table by streaming the sheet once
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read (optional, reads first sheet if null)
+     * @return Table holding all data rows of the sheet
+     * @throws IOException if file cannot be read
+     */
+    public static ExcelTable read(String filePath, String sheetName) throws IOException {
+        Builder builder = new Builder();
+        ExcelUtils.streamExcelCells(filePath, sheetName, builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Builds a table by streaming the sheet once, keeping only rows that match all conditions
+     * Conditions are checked on the decoded cells before a row is added, so rows that do not
+     * match are never stored or formatted beyond the filtered columns.
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read (optional, reads first sheet if null)
+     * @param conditions Predicate on the cell text per column name; all must match
+     * @return Table holding the matching rows, with their original row numbers
+     * @throws IOException if file cannot be read
+     */
+    public static ExcelTable read(String filePath, String sheetName,
+                                  Map<String, Predicate<String>> conditions) throws IOException {
+        return collect(consumer -> ExcelUtils.streamExcelCells(filePath, sheetName, consumer), conditions);
+    }
+
+    /**
+     * Builds a table from decoded rows, keeping only rows that match all conditions
+     * @param source Reader handing every data row to the consumer, in row order
+     * @param conditions Predicate on the cell text per column name; all must match
+     * @return Table holding the matching rows, with their original row numbers
+     * @throws IOException if the source cannot be read
+     */
+    static ExcelTable collect(RowSource source, Map<String, Predicate<String>> conditions) throws IOException {
+        Builder builder = new Builder();
+        int[][] filterColumns = new int[1][];
+        source.read((rowNumber, row) -> {
+            if (filterColumns[0] == null) {
+                filterColumns[0] = filterColumns(row.headers(), conditions);
+            }
+            int i = 0;
+            for (Predicate<String> condition : conditions.values()) {
+                if (!condition.test(row.text(filterColumns[0][i++]))) {
+                    return;
+                }
+            }
+            builder.add(rowNumber, row);
+        });
+        return builder.build();
+    }
+
+    /**
+     * Selects the rows that match all conditions
+     * @param conditions Predicate on the cell text per column name; all must match
+     * @return New table holding the matching rows, with their original row numbers
+     */
+    public ExcelTable filter(Map<String, Predicate<String>> conditions) {
+        int[] filterColumns = filterColumns(Arrays.asList(headers), conditions);
+        int[] selected = new int[rowNumbers.length];
+        int count = 0;
+        for (int position = 0; position < rowNumbers.length; position++) {
+            int i = 0;
+            boolean matches = true;
+            for (Predicate<String> condition : conditions.values()) {
+                if (!condition.test(text(filterColumns[i++], position))) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                selected[count++] = position;
+            }
+        }
+
+        String[][] selectedColumns = new String[headers.length][];
+        byte[][] selectedTypes = new byte[headers.length][];
+        double[][] selectedNumbers = new double[headers.length][];
+        int[] selectedRowNumbers = new int[count];
+        for (int i = 0; i < count; i++) {
+            selectedRowNumbers[i] = rowNumbers[selected[i]];
+        }
+        for (int column = 0; column < headers.length; column++) {
+            if (columns[column] != null) {
+                selectedColumns[column] = new String[count];
+                for (int i = 0; i < count; i++) {
+                    selectedColumns[column][i] = columns[column][selected[i]];
+                }
+            }
+            if (types[column] != null) {
+                selectedTypes[column] = new byte[count];
+                selectedNumbers[column] = new double[count];
+                for (int i = 0; i < count; i++) {
+                    selectedTypes[column][i] = types[column][selected[i]];
+                    selectedNumbers[column][i] = numbers[column][selected[i]];
+                }
+            }
+        }
+        return new ExcelTable(headers, selectedColumns, selectedTypes, selectedNumbers, selectedRowNumbers);
+    }
+
+    /**
+     * @return Number of data rows
+     */
+    public int size() {
+        return rowNumbers.length;
+    }
+
+    public boolean isEmpty() {
+        return rowNumbers.length == 0;
+    }
+
+    /**
+     * @return Column names in sheet order
+     */
+    public List<String> getHeaders() {
+        return Collections.unmodifiableList(Arrays.asList(headers));
+    }
+
+    /**
+     * Gets a single row in constant time
+     * @param rowNumber Row number (1-based, excluding header)
+     * @return Read-only Map of column name to cell value, or null if the row does not exist
+     */
+    public Map<String, String> get(int rowNumber) {
+        int position = positionOf(rowNumber);
+        return position != ABSENT ? new RowView(position) : null;
+    }
+
+    /**
+     * Gets a single cell value without creating a row view
+     * @param rowNumber Row number (1-based, excluding header)
+     * @param columnName Column name
+     * @return Cell value, or null if the row or column does not exist
+     */
+    public String getValue(int rowNumber, String columnName) {
+        int position = positionOf(rowNumber);
+        Integer column = columnIndex.get(columnName);
+        return (position != ABSENT && column != null) ? text(column, position) : null;
+    }
+
+    /**
+     * Gets a numeric cell as a double; text cells are parsed
+     * @param rowNumber Row number (1-based, excluding header)
+     * @param columnName Column name
+     * @return Cell value
+     * @throws IllegalArgumentException if the row or column does not exist or the cell is not numeric
+     */
+    public double getDouble(int rowNumber, String columnName) {
+        int column = columnOf(columnName);
+        int position = existingPositionOf(rowNumber);
+        switch (typeAt(column, position)) {
+            case DecodedRow.NUMBER:
+            case DecodedRow.DATE:
+            case DecodedRow.FORMULA_NUMBER:
+                return numbers[column][position];
+            case DecodedRow.STRING:
+                return Double.parseDouble(columns[column][position].trim());
+            default:
+                throw notA("number", rowNumber, columnName);
+        }
+    }
+
+    /**
+     * Gets a whole-number cell as a long; text cells are parsed
+     * @param rowNumber Row number (1-based, excluding header)
+     * @param columnName Column name
+     * @return Cell value
+     * @throws IllegalArgumentException if the row or column does not exist or the cell is not a whole number
+     */
+    public long getLong(int rowNumber, String columnName) {
+        int column = columnOf(columnName);
+        int position = existingPositionOf(rowNumber);
+        if (typeAt(column, position) == DecodedRow.STRING) {
+            String text = columns[column][position].trim();
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                // Fall through to the decimal representation, e.g. "42.0" from a formula
+            }
+        }
+        double value = getDouble(rowNumber, columnName);
+        long wholeValue = (long) value;
+        if (wholeValue != value) {
+            throw notA("whole number", rowNumber, columnName);
+        }
+        return wholeValue;
+    }
+
+    /**
+     * Gets a whole-number cell as an int; text cells are parsed
+     * @param rowNumber Row number (1-based, excluding header)
+     * @param columnName Column name
+     * @return Cell value
+     * @throws IllegalArgumentException if the row or column does not exist or the cell is not an int
+     */
+    public int getInt(int rowNumber, String columnName) {
+        long value = getLong(rowNumber, columnName);
+        if (value != (int) value) {
+            throw notA("int", rowNumber, columnName);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Gets a boolean cell; text cells must be "true" or "false" (any case)
+     * @param rowNumber Row number (1-based, excluding header)
+     * @param columnName Column name
+     * @return Cell value
+     * @throws IllegalArgumentException if the row or column does not exist or the cell is not a boolean
+     */
+    public boolean getBoolean(int rowNumber, String columnName) {
+        int column = columnOf(columnName);
+        int position = existingPositionOf(rowNumber);
+        byte type = typeAt(column, position);
+        if (type == DecodedRow.BOOLEAN) {
+            return numbers[column][position] != 0;
+        }
+        if (type == DecodedRow.STRING) {
+            String text = columns[column][position].trim();
+            if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+                return Boolean.parseBoolean(text);
+            }
+        }
+        throw notA("boolean", rowNumber, columnName);
+    }
+
+    /**
+     * Gets a date cell; numeric cells are read as Excel serial dates and text cells as ISO dates (yyyy-MM-dd)
+     * @param rowNumber Row number (1-based, excluding header)
+     * @param columnName Column name
+     * @return Cell value, or null if the cell is blank
+     * @throws IllegalArgumentException if the row or column does not exist or the cell is not a date
+     */
+    public LocalDate getLocalDate(int rowNumber, String columnName) {
+        int column = columnOf(columnName);
+        int position = existingPositionOf(rowNumber);
+        switch (typeAt(column, position)) {
+            case DecodedRow.DATE:
+            case DecodedRow.NUMBER:
+            case DecodedRow.FORMULA_NUMBER:
+                double value = numbers[column][position];
+                if (!DateUtil.isValidExcelDate(value)) {
+                    throw notA("date", rowNumber, columnName);
+                }
+                return DateUtil.getLocalDateTime(value).toLocalDate();
+            case DecodedRow.STRING:
+                String text = columns[column][position].trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return LocalDate.parse(text);
+                } catch (DateTimeParseException e) {
+                    throw notA("date", rowNumber, columnName);
+                }
+            case DecodedRow.BLANK:
+                return null;
+            default:
+                throw notA("date", rowNumber, columnName);
+        }
+    }
+
+    /**
+     * @param rowNumber Row number (1-based, excluding header)
+     * @param columnName Column name
+     * @return true if the cell is empty
+     * @throws IllegalArgumentException if the row or column does not exist
+     */
+    public boolean isBlank(int rowNumber, String columnName) {
+        int column = columnOf(columnName);
+        int position = existingPositionOf(rowNumber);
+        byte type = typeAt(column, position);
+        return type == DecodedRow.BLANK || (type == DecodedRow.STRING && columns[column][position].isEmpty());
+    }
+
+    /**
+     * @return Read-only List view of all rows, in sheet order
+     */
+    public List<Map<String, String>> rows() {
+        return new AbstractList<>() {
+            @Override
+            public Map<String, String> get(int index) {
+                if (index < 0 || index >= rowNumbers.length) {
+                    throw new IndexOutOfBoundsException("Row index " + index + " out of range");
+                }
+                return new RowView(index);
+            }
+
+            @Override
+            public int size() {
+                return rowNumbers.length;
+            }
+        };
+    }
+
+    /**
+     * Iterates over all rows in sheet order
+     * @param action Receives the row number and a view of the row data
+     */
+    public void forEach(BiConsumer<Integer, Map<String, String>> action) {
+        for (int position = 0; position < rowNumbers.length; position++) {
+            action.accept(rowNumbers[position], new RowView(position));
+        }
+    }
+
+    String[] headerArray() {
+        return headers;
+    }
+
+    String[] columnArray(int column) {
+        return columns[column];
+    }
+
+    byte[] typeArray(int column) {
+        return types[column];
+    }
+
+    double[] numberArray(int column) {
+        return numbers[column];
+    }
+
+    int[] rowNumberArray() {
+        return rowNumbers;
+    }
+
+    private int positionOf(int rowNumber) {
+        return (rowNumber >= 0 && rowNumber < positions.length) ? positions[rowNumber] : ABSENT;
+    }
+
+    private int existingPositionOf(int rowNumber) {
+        int position = positionOf(rowNumber);
+        if (position == ABSENT) {
+            throw new IllegalArgumentException("Row " + rowNumber + " not found in the sheet");
+        }
+        return position;
+    }
+
+    private int columnOf(String columnName) {
+        Integer column = columnIndex.get(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Column '" + columnName + "' not found in the sheet");
+        }
+        return column;
+    }
+
+    private byte typeAt(int column, int position) {
+        return types[column] != null ? types[column][position] : DecodedRow.STRING;
+    }
+
+    /**
+     * Text of a cell; typed cells are formatted on every call instead of being stored twice
+     */
+    private String text(int column, int position) {
+        byte type = typeAt(column, position);
+        return type == DecodedRow.STRING ? columns[column][position] : DecodedRow.format(type, numbers[column][position]);
+    }
+
+    static int[] filterColumns(List<String> headers, Map<String, Predicate<String>> conditions) {
+        int[] filterColumns = new int[conditions.size()];
+        int i = 0;
+        for (String columnName : conditions.keySet()) {
+            // Last occurrence wins for repeated headers, as in the row maps
+            int column = headers.lastIndexOf(columnName);
+            if (column < 0) {
+                throw new IllegalArgumentException("Column '" + columnName + "' not found in the sheet");
+            }
+            filterColumns[i++] = column;
+        }
+        return filterColumns;
+    }
+
+    private static IllegalArgumentException notA(String kind, int rowNumber, String columnName) {
+        return new IllegalArgumentException("Cell '" + columnName + "' in row " + rowNumber + " is not a " + kind);
+    }
+
+    /**
+     * Read-only Map view over one row of the columnar storage
+     */
+    private class RowView extends AbstractMap<String, String> {
+
+        private final int position;
+
+        RowView(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String get(Object key) {
+            Integer column = columnIndex.get(key);
+            return column != null ? text(column, position) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return headers.length;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int column;
+
+                        @Override
+                        public boolean hasNext() {
+                            return column < headers.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = column++;
+                            return new SimpleImmutableEntry<>(headers[current], text(current, position));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return headers.length;
+                }
+            };
+        }
+    }
+
+    /**
+     * Reader producing the decoded data rows of one sheet
+     */
+    @FunctionalInterface
+    interface RowSource {
+        void read(BiConsumer<Integer, DecodedRow> consumer) throws IOException;
+    }
+
+    /**
+     * Collects streamed rows into column arrays, deduplicating repeated values
+     * Numeric, date and boolean cells go straight into primitive arrays; columns that only
+     * ever hold text (or blanks) end up as plain String arrays.
+     */
+    static class Builder {
+
+        private String[] headers;
+        private String[][] columns = new String[0][];
+        private byte[][] types = new byte[0][];
+        private double[][] numbers = new double[0][];
+        private int[] columnTargets;
+        private int[] rowNumbers = new int[16];
+        private int count;
+        private final Map<String, String> valuePool = new HashMap<>();
+
+        void add(int rowNumber, Map<String, String> rowData) {
+            if (headers == null) {
+                start(rowData.keySet().toArray(new String[0]));
+            }
+            ensureCapacity();
+            int column = 0;
+            for (String value : rowData.values()) {
+                setString(column++, value);
+            }
+            rowNumbers[count++] = rowNumber;
+        }
+
+        void add(int rowNumber, DecodedRow row) {
+            if (headers == null) {
+                start(row.headers().toArray(new String[0]));
+            }
+            ensureCapacity();
+            for (int column = 0; column < row.size(); column++) {
+                int target = columnTargets[column];
+                byte type = row.type(column);
+                if (type == DecodedRow.STRING) {
+                    setString(target, row.string(column));
+                } else if (type != DecodedRow.BLANK) {
+                    setNumber(target, type, row.number(column));
+                } else {
+                    types[target][count] = DecodedRow.BLANK;
+                }
+            }
+            rowNumbers[count++] = rowNumber;
+        }
+
+        ExcelTable build() {
+            int columnCount = columns.length;
+            String[][] trimmedColumns = new String[columnCount][];
+            byte[][] trimmedTypes = new byte[columnCount][];
+            double[][] trimmedNumbers = new double[columnCount][];
+            for (int i = 0; i < columnCount; i++) {
+                if (numbers[i] == null) {
+                    // Text-only column: blanks become empty strings, no type array is kept
+                    trimmedColumns[i] = new String[count];
+                    for (int position = 0; position < count; position++) {
+                        trimmedColumns[i][position] = (columns[i] != null && columns[i][position] != null)
+                                ? columns[i][position] : "";
+                    }
+                } else {
+                    trimmedColumns[i] = columns[i] != null ? Arrays.copyOf(columns[i], count) : null;
+                    trimmedTypes[i] = Arrays.copyOf(types[i], count);
+                    trimmedNumbers[i] = Arrays.copyOf(numbers[i], count);
+                }
+            }
+            valuePool.clear();
+            return new ExcelTable(headers != null ? headers : new String[0], trimmedColumns, trimmedTypes,
+                    trimmedNumbers, Arrays.copyOf(rowNumbers, count));
+        }
+
+        private void start(String[] rowHeaders) {
+            // Repeated header names share one column and the last cell wins, as in a LinkedHashMap row
+            Map<String, Integer> distinct = new LinkedHashMap<>();
+            columnTargets = new int[rowHeaders.length];
+            for (int i = 0; i < rowHeaders.length; i++) {
+                columnTargets[i] = distinct.computeIfAbsent(rowHeaders[i], header -> distinct.size());
+            }
+            headers = distinct.keySet().toArray(new String[0]);
+            columns = new String[headers.length][];
+            types = new byte[headers.length][];
+            numbers = new double[headers.length][];
+            for (int i = 0; i < headers.length; i++) {
+                types[i] = new byte[rowNumbers.length];
+            }
+        }
+
+        private void ensureCapacity() {
+            if (count < rowNumbers.length) {
+                return;
+            }
+            int capacity = count * 2;
+            rowNumbers = Arrays.copyOf(rowNumbers, capacity);
+            for (int i = 0; i < headers.length; i++) {
+                types[i] = Arrays.copyOf(types[i], capacity);
+                if (columns[i] != null) {
+                    columns[i] = Arrays.copyOf(columns[i], capacity);
+                }
+                if (numbers[i] != null) {
+                    numbers[i] = Arrays.copyOf(numbers[i], capacity);
+                }
+            }
+        }
+
+        private void setString(int column, String value) {
+            if (columns[column] == null) {
+                columns[column] = new String[rowNumbers.length];
+            }
+            types[column][count] = DecodedRow.STRING;
+            columns[column][count] = valuePool.computeIfAbsent(value, v -> v);
+        }
+
+        private void setNumber(int column, byte type, double value) {
+            if (numbers[column] == null) {
+                numbers[column] = new double[rowNumbers.length];
+            }
+            types[column][count] = type;
+            numbers[column][count] = value;
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.example.utils;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * Utility class for Excel operations including reading Excel files
@@ -14,6 +17,20 @@ import java.util.*;
  */
 public class ExcelUtils {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExcelUtils.class);
+
+    /**
+     * System property that makes formula cells be recalculated when read instead of using the
+     * result cached in the file. Evaluation needs the full workbook model, so .xlsx files are
+     * then read through it rather than streamed.
+     */
+    public static final String FORMULA_EVALUATE_PROPERTY = "excel.formula.evaluate";
+
+    /** System property limiting how many rows data dumps log (default 20) */
+    public static final String PRINT_MAX_ROWS_PROPERTY = "excel.print.maxRows";
+
+    private static final int DEFAULT_PRINT_MAX_ROWS = 20;
+
     /**
      * Reads Excel file and converts data to Map of Maps
      * @param filePath Path to the Excel file
@@ -27,43 +44,56 @@ public class ExcelUtils {
         try (FileInputStream fileInputStream = new FileInputStream(filePath);
              Workbook workbook = createWorkbook(filePath, fileInputStream)) {
             
-            Sheet sheet = (sheetName != null) ? workbook.getSheet(sheetName) : workbook.getSheetAt(0);
-            
-            if (sheet == null) {
-                throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in the Excel file");
-            }
-            
-            // Get header row (assuming first row contains headers)
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                throw new IllegalArgumentException("Header row not found in the Excel sheet");
-            }
-            
-            List<String> headers = new ArrayList<>();
-            for (Cell cell : headerRow) {
-                headers.add(getCellValueAsString(cell));
-            }
-            
-            // Read data rows
-            for (int rowIndex = 1; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
-                Row row = sheet.getRow(rowIndex);
-                if (row == null) continue;
-                
-                Map<String, String> rowData = new LinkedHashMap<>();
-                
-                for (int cellIndex = 0; cellIndex < headers.size(); cellIndex++) {
-                    Cell cell = row.getCell(cellIndex);
-                    String cellValue = (cell != null) ? getCellValueAsString(cell) : "";
-                    rowData.put(headers.get(cellIndex), cellValue);
-                }
-                
-                excelData.put(rowIndex, rowData);
-            }
+            readSheetRows(getSheet(workbook, sheetName), excelData::put);
         }
         
         return excelData;
     }
 
+    /**
+     * Streams rows of an Excel file to a consumer without keeping the whole sheet in memory.
+     * .xlsx files are parsed with POI's event (SAX) model so memory is bounded by one row;
+     * .xls files have no streaming format and are read through the regular workbook model.
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read (optional, reads first sheet if null)
+     * @param rowConsumer Receives the row number (1-based, excluding header) and the row data
+     * @throws IOException if file cannot be read
+     */
+    public static void streamExcelRows(String filePath, String sheetName,
+                                       BiConsumer<Integer, Map<String, String>> rowConsumer) throws IOException {
+        if (isXlsx(filePath) && !isFormulaEvaluationEnabled()) {
+            StreamingExcelReader.read(filePath, sheetName, rowConsumer);
+            return;
+        }
+        
+        try (FileInputStream fileInputStream = new FileInputStream(filePath);
+             Workbook workbook = createWorkbook(filePath, fileInputStream)) {
+            
+            readSheetRows(getSheet(workbook, sheetName), rowConsumer);
+        }
+    }
+
+    /**
+     * Streams the decoded cells of each row, keeping numbers, dates and booleans as primitives
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read (optional, reads first sheet if null)
+     * @param rowConsumer Receives the row number and a reused buffer holding the row's cells
+     * @throws IOException if file cannot be read
+     */
+    static void streamExcelCells(String filePath, String sheetName,
+                                 BiConsumer<Integer, DecodedRow> rowConsumer) throws IOException {
+        if (isXlsx(filePath) && !isFormulaEvaluationEnabled()) {
+            StreamingExcelReader.readCells(filePath, sheetName, rowConsumer);
+            return;
+        }
+        
+        try (FileInputStream fileInputStream = new FileInputStream(filePath);
+             Workbook workbook = createWorkbook(filePath, fileInputStream)) {
+            
+            readSheetCells(getSheet(workbook, sheetName), createFormulaEvaluator(workbook), rowConsumer);
+        }
+    }
+
     /**
      * Reads Excel file and converts data to Map of Maps (reads first sheet)
      * @param filePath Path to the Excel file
@@ -83,8 +113,9 @@ public class ExcelUtils {
      * @throws IOException if file cannot be read
      */
     public static Map<String, String> readExcelRow(String filePath, String sheetName, int rowNumber) throws IOException {
-        Map<Integer, Map<String, String>> allData = readExcelToMapOfMaps(filePath, sheetName);
-        return allData.get(rowNumber);
+        // The sheet is parsed once per file version; later lookups are constant time
+        Map<String, String> rowData = ExcelDataCache.getInstance().getTable(filePath, sheetName).get(rowNumber);
+        return rowData != null ? new LinkedHashMap<>(rowData) : null;
     }
 
     /**
@@ -94,36 +125,22 @@ public class ExcelUtils {
      * @throws IOException if file cannot be read
      */
     public static List<String> getSheetNames(String filePath) throws IOException {
-        List<String> sheetNames = new ArrayList<>();
-        
-        try (FileInputStream fileInputStream = new FileInputStream(filePath);
-             Workbook workbook = createWorkbook(filePath, fileInputStream)) {
-            
-            for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
-                sheetNames.add(workbook.getSheetName(i));
-            }
+        try (ExcelWorkbook workbook = ExcelWorkbook.open(filePath)) {
+            return workbook.getSheetNames();
         }
-        
-        return sheetNames;
     }
 
     /**
      * Gets the number of rows in a specific sheet (excluding header)
+     * For .xlsx files this is read from the sheet's dimension metadata without parsing the rows.
      * @param filePath Path to the Excel file
      * @param sheetName Name of the sheet
      * @return Number of data rows
      * @throws IOException if file cannot be read
      */
     public static int getRowCount(String filePath, String sheetName) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(filePath);
-             Workbook workbook = createWorkbook(filePath, fileInputStream)) {
-            
-            Sheet sheet = (sheetName != null) ? workbook.getSheet(sheetName) : workbook.getSheetAt(0);
-            if (sheet == null) {
-                throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in the Excel file");
-            }
-            
-            return sheet.getLastRowNum(); // Returns 0-based index, so actual data rows
+        try (ExcelWorkbook workbook = ExcelWorkbook.open(filePath)) {
+            return workbook.getRowCount(sheetName); // Returns 0-based index, so actual data rows
         }
     }
 
@@ -139,6 +156,69 @@ public class ExcelUtils {
         return new ArrayList<>(mapOfMaps.values());
     }
 
+    /**
+     * Reads a sheet into a compact table, using the workbook's pre-compiled snapshot when
+     * one exists and is up to date (see {@link ExcelSnapshotCompiler}), and parsing the
+     * workbook otherwise
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read (optional, reads first sheet if null)
+     * @return Table holding all data rows of the sheet
+     * @throws IOException if file cannot be read
+     */
+    public static ExcelTable readExcelTable(String filePath, String sheetName) throws IOException {
+        // Snapshots hold the formula results cached in the file, so they are skipped when recalculating
+        ExcelTable snapshot = isFormulaEvaluationEnabled() ? null : ExcelSnapshot.load(filePath, sheetName);
+        return (snapshot != null) ? snapshot : ExcelTable.read(filePath, sheetName);
+    }
+
+    /**
+     * @param filePath Path to a file
+     * @return true if the file is an .xlsx workbook (extension compared case-insensitively)
+     */
+    static boolean isXlsx(String filePath) {
+        return filePath.toLowerCase(Locale.ROOT).endsWith(".xlsx");
+    }
+
+    /**
+     * @param filePath Path to a file
+     * @return true if the file is an .xls workbook (extension compared case-insensitively)
+     */
+    static boolean isXls(String filePath) {
+        return filePath.toLowerCase(Locale.ROOT).endsWith(".xls");
+    }
+
+    /**
+     * @param filePath Path to a file
+     * @return true if the file is an Excel workbook (.xlsx or .xls)
+     */
+    static boolean isExcelFile(String filePath) {
+        return isXlsx(filePath) || isXls(filePath);
+    }
+
+    /**
+     * @return true if formula cells are recalculated when read (see {@link #FORMULA_EVALUATE_PROPERTY})
+     */
+    public static boolean isFormulaEvaluationEnabled() {
+        return Boolean.parseBoolean(System.getProperty(FORMULA_EVALUATE_PROPERTY, "false"));
+    }
+
+    /**
+     * Creates the formula evaluator for a workbook when evaluation is enabled
+     * One evaluator should be shared by all sheets of a workbook: it caches every result it
+     * computes, so cells referenced by many formulas are only evaluated once.
+     * @param workbook Workbook the formulas belong to
+     * @return Evaluator, or null if cached formula results are used
+     */
+    static FormulaEvaluator createFormulaEvaluator(Workbook workbook) {
+        if (!isFormulaEvaluationEnabled()) {
+            return null;
+        }
+        FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        // References to other workbooks fall back to the values cached in this file
+        evaluator.setIgnoreMissingWorkbooks(true);
+        return evaluator;
+    }
+
     /**
      * Creates appropriate Workbook instance based on file extension
      * @param filePath Path to the Excel file
@@ -146,16 +226,155 @@ public class ExcelUtils {
      * @return Workbook instance
      * @throws IOException if workbook cannot be created
      */
-    private static Workbook createWorkbook(String filePath, FileInputStream fileInputStream) throws IOException {
-        if (filePath.endsWith(".xlsx")) {
+    static Workbook createWorkbook(String filePath, FileInputStream fileInputStream) throws IOException {
+        if (isXlsx(filePath)) {
             return new XSSFWorkbook(fileInputStream);
-        } else if (filePath.endsWith(".xls")) {
+        } else if (isXls(filePath)) {
             return new HSSFWorkbook(fileInputStream);
         } else {
             throw new IllegalArgumentException("Unsupported file format. Only .xlsx and .xls files are supported.");
         }
     }
 
+    /**
+     * Looks up a sheet by name, or the first sheet when no name is given
+     * @param workbook Workbook to search
+     * @param sheetName Name of the sheet (optional)
+     * @return Sheet instance
+     */
+    static Sheet getSheet(Workbook workbook, String sheetName) {
+        Sheet sheet = (sheetName != null) ? workbook.getSheet(sheetName) : workbook.getSheetAt(0);
+        
+        if (sheet == null) {
+            throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in the Excel file");
+        }
+        
+        return sheet;
+    }
+
+    /**
+     * Walks the data rows of a sheet, mapping each cell to its header
+     * @param sheet Sheet to read (first row contains headers)
+     * @param rowConsumer Receives the row number and the row data
+     */
+    static void readSheetRows(Sheet sheet, BiConsumer<Integer, Map<String, String>> rowConsumer) {
+        readSheetCells(sheet, createFormulaEvaluator(sheet.getWorkbook()),
+                (rowIndex, row) -> rowConsumer.accept(rowIndex, row.toMap()));
+    }
+
+    /**
+     * Walks the data rows of a sheet, decoding each cell without formatting it as text
+     * @param sheet Sheet to read (first row contains headers)
+     * @param evaluator Formula evaluator of the workbook, or null to use cached formula results
+     * @param rowConsumer Receives the row number and a reused buffer holding the row's cells
+     */
+    static void readSheetCells(Sheet sheet, FormulaEvaluator evaluator, BiConsumer<Integer, DecodedRow> rowConsumer) {
+        // Get header row (assuming first row contains headers)
+        Row headerRow = sheet.getRow(0);
+        if (headerRow == null) {
+            throw new IllegalArgumentException("Header row not found in the Excel sheet");
+        }
+        
+        List<String> headers = new ArrayList<>();
+        for (Cell cell : headerRow) {
+            headers.add(getCellValueAsString(cell));
+        }
+        
+        // Read data rows
+        DecodedRow rowData = new DecodedRow(List.copyOf(headers));
+        for (int rowIndex = 1; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
+            Row row = sheet.getRow(rowIndex);
+            if (row == null) continue;
+            
+            rowData.clear();
+            
+            for (int cellIndex = 0; cellIndex < headers.size(); cellIndex++) {
+                Cell cell = row.getCell(cellIndex);
+                if (cell != null) {
+                    decodeCell(cell, evaluator, cellIndex, rowData);
+                }
+            }
+            
+            rowConsumer.accept(rowIndex, rowData);
+        }
+    }
+
+    /**
+     * Stores a cell in the row buffer, keeping numbers, dates and booleans as primitives
+     * @param cell Excel cell
+     * @param evaluator Formula evaluator, or null to use cached formula results
+     * @param column Column position
+     * @param rowData Row buffer
+     */
+    private static void decodeCell(Cell cell, FormulaEvaluator evaluator, int column, DecodedRow rowData) {
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                rowData.setNumber(column, cell.getNumericCellValue(),
+                        DateUtil.isCellDateFormatted(cell) ? DecodedRow.DATE : DecodedRow.NUMBER);
+                break;
+            case BOOLEAN:
+                rowData.setBoolean(column, cell.getBooleanCellValue());
+                break;
+            case FORMULA:
+                CellValue evaluated = (evaluator != null) ? evaluate(evaluator, cell) : null;
+                if (evaluated != null) {
+                    decodeFormulaResult(evaluated.getCellType(), evaluated.getNumberValue(),
+                            evaluated.getStringValue(), evaluated.getBooleanValue(), column, rowData);
+                } else {
+                    decodeCachedFormulaResult(cell, column, rowData);
+                }
+                break;
+            case BLANK:
+                break;
+            default:
+                rowData.setString(column, getCellValueAsString(cell));
+                break;
+        }
+    }
+
+    /**
+     * Recalculates a formula cell
+     * @return Result, or null if POI cannot evaluate the formula (the cached result is used instead)
+     */
+    private static CellValue evaluate(FormulaEvaluator evaluator, Cell cell) {
+        try {
+            return evaluator.evaluate(cell);
+        } catch (RuntimeException e) {
+            // Unsupported functions or broken references
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the result type cached in the file, without probing the cell with exceptions
+     */
+    private static void decodeCachedFormulaResult(Cell cell, int column, DecodedRow rowData) {
+        CellType resultType = cell.getCachedFormulaResultType();
+        decodeFormulaResult(resultType,
+                resultType == CellType.NUMERIC ? cell.getNumericCellValue() : 0,
+                resultType == CellType.STRING ? cell.getStringCellValue() : null,
+                resultType == CellType.BOOLEAN && cell.getBooleanCellValue(),
+                column, rowData);
+    }
+
+    private static void decodeFormulaResult(CellType resultType, double number, String text, boolean flag,
+                                            int column, DecodedRow rowData) {
+        switch (resultType) {
+            case NUMERIC:
+                rowData.setNumber(column, number, DecodedRow.FORMULA_NUMBER);
+                break;
+            case STRING:
+                rowData.setString(column, text);
+                break;
+            case BOOLEAN:
+                rowData.setBoolean(column, flag);
+                break;
+            default:
+                // Error results are read as empty cells
+                break;
+        }
+    }
+
     /**
      * Converts cell value to String regardless of cell type
      * @param cell Excel cell
@@ -173,21 +392,21 @@ public class ExcelUtils {
                 if (DateUtil.isCellDateFormatted(cell)) {
                     return cell.getDateCellValue().toString();
                 } else {
-                    // Handle both integer and decimal numbers
-                    double numericValue = cell.getNumericCellValue();
-                    if (numericValue == Math.floor(numericValue)) {
-                        return String.valueOf((long) numericValue);
-                    } else {
-                        return String.valueOf(numericValue);
-                    }
+                    return formatNumericValue(cell.getNumericCellValue());
                 }
             case BOOLEAN:
                 return String.valueOf(cell.getBooleanCellValue());
             case FORMULA:
-                try {
-                    return String.valueOf(cell.getNumericCellValue());
-                } catch (Exception e) {
-                    return cell.getStringCellValue();
+                // Trust the result type cached in the file instead of probing with exceptions
+                switch (cell.getCachedFormulaResultType()) {
+                    case NUMERIC:
+                        return String.valueOf(cell.getNumericCellValue());
+                    case STRING:
+                        return cell.getStringCellValue();
+                    case BOOLEAN:
+                        return String.valueOf(cell.getBooleanCellValue());
+                    default:
+                        return "";
                 }
             case BLANK:
                 return "";
@@ -197,19 +416,45 @@ public class ExcelUtils {
     }
 
     /**
-     * Utility method to print Excel data in a readable format
+     * Formats a numeric cell value, dropping the fraction for whole numbers
+     * @param numericValue Numeric cell value
+     * @return String representation of the number
+     */
+    static String formatNumericValue(double numericValue) {
+        // Handle both integer and decimal numbers
+        if (numericValue == Math.floor(numericValue)) {
+            return String.valueOf((long) numericValue);
+        } else {
+            return String.valueOf(numericValue);
+        }
+    }
+
+    /**
+     * Logs Excel data at DEBUG level, one line per row
+     * Nothing is formatted unless DEBUG is enabled for this class; big tables are summarized
+     * after {@link #getPrintMaxRows()} rows.
      * @param excelData Map of Maps containing Excel data
      */
     public static void printExcelData(Map<Integer, Map<String, String>> excelData) {
-        System.out.println("Excel Data:");
-        System.out.println("===========");
-        
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+        int maxRows = getPrintMaxRows();
+        LOGGER.debug("Excel data: {} row(s)", excelData.size());
+        int printed = 0;
         for (Map.Entry<Integer, Map<String, String>> rowEntry : excelData.entrySet()) {
-            System.out.println("Row " + rowEntry.getKey() + ":");
-            for (Map.Entry<String, String> cellEntry : rowEntry.getValue().entrySet()) {
-                System.out.println("  " + cellEntry.getKey() + ": " + cellEntry.getValue());
+            if (printed++ == maxRows) {
+                LOGGER.debug("... {} more row(s) not shown", excelData.size() - maxRows);
+                break;
             }
-            System.out.println();
+            LOGGER.debug("Row {}: {}", rowEntry.getKey(), rowEntry.getValue());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * @return Maximum number of rows logged by data dumps (see {@link #PRINT_MAX_ROWS_PROPERTY})
+     */
+    public static int getPrintMaxRows() {
+        return Integer.getInteger(PRINT_MAX_ROWS_PROPERTY, DEFAULT_PRINT_MAX_ROWS);
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.SAXException;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Handle on an open Excel file
+ * The file is opened once and any number of sheets can then be listed, counted and read.
+ * For .xlsx files sheet metadata and rows are read straight from the package parts, row counts
+ * come from each sheet's dimension element and several sheets can be decoded in parallel.
+ * .xls files are loaded once into the regular workbook model, as are .xlsx files when formula
+ * evaluation is enabled; all sheets then share one formula evaluator and its result cache.
+ */
+public class ExcelWorkbook implements Closeable {
+
+    private final String filePath;
+    private final Map<String, PackagePart> sheetParts = new LinkedHashMap<>();
+    private final List<String> sheetNames;
+
+    // .xlsx state
+    private OPCPackage pkg;
+    private ReadOnlySharedStringsTable sharedStrings;
+    private StylesTable styles;
+
+    // .xls state (or .xlsx with formula evaluation)
+    private Workbook workbook;
+    private FormulaEvaluator evaluator;
+
+    private ExcelWorkbook(String filePath) throws IOException {
+        this.filePath = filePath;
+        if (ExcelUtils.isXlsx(filePath) && !ExcelUtils.isFormulaEvaluationEnabled()) {
+            openPackage();
+            this.sheetNames = new ArrayList<>(sheetParts.keySet());
+        } else {
+            try (FileInputStream fileInputStream = new FileInputStream(filePath)) {
+                this.workbook = ExcelUtils.createWorkbook(filePath, fileInputStream);
+            }
+            this.evaluator = ExcelUtils.createFormulaEvaluator(workbook);
+            this.sheetNames = new ArrayList<>();
+            for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+                sheetNames.add(workbook.getSheetName(i));
+            }
+        }
+    }
+
+    /**
+     * Opens an Excel file
+     * @param filePath Path to the Excel file
+     * @return Open workbook handle, to be closed by the caller
+     * @throws IOException if file cannot be read
+     */
+    public static ExcelWorkbook open(String filePath) throws IOException {
+        return new ExcelWorkbook(filePath);
+    }
+
+    /**
+     * @return Sheet names in workbook order
+     */
+    public List<String> getSheetNames() {
+        return new ArrayList<>(sheetNames);
+    }
+
+    /**
+     * Gets the number of rows in a sheet (excluding header), read from sheet metadata where available
+     * @param sheetName Name of the sheet (first sheet if null)
+     * @return Number of data rows
+     * @throws IOException if the sheet cannot be read
+     */
+    public int getRowCount(String sheetName) throws IOException {
+        if (workbook != null) {
+            return ExcelUtils.getSheet(workbook, sheetName).getLastRowNum();
+        }
+        try (InputStream sheetStream = sheetPart(sheetName).getInputStream()) {
+            return StreamingExcelReader.readLastRowNum(sheetStream);
+        } catch (SAXException e) {
+            throw new IOException("Failed to read sheet dimension from: " + filePath, e);
+        }
+    }
+
+    /**
+     * Reads one sheet into a table
+     * @param sheetName Name of the sheet (first sheet if null)
+     * @return Table holding all data rows of the sheet
+     * @throws IOException if the sheet cannot be read
+     */
+    public ExcelTable readSheet(String sheetName) throws IOException {
+        ExcelTable.Builder builder = new ExcelTable.Builder();
+        if (workbook != null) {
+            ExcelUtils.readSheetCells(ExcelUtils.getSheet(workbook, sheetName), evaluator, builder::add);
+            return builder.build();
+        }
+        try (InputStream sheetStream = sheetPart(sheetName).getInputStream()) {
+            StreamingExcelReader.readSheetCells(sheetStream, sharedStrings, styles, builder::add);
+        } catch (SAXException e) {
+            throw new IOException("Failed to read sheet '" + sheetName + "' from: " + filePath, e);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads several sheets. Sheets of .xlsx files are decoded in parallel on a worker pool.
+     * @param names Names of the sheets to read
+     * @return Tables keyed by sheet name, in the order requested
+     * @throws IOException if a sheet cannot be read
+     */
+    public Map<String, ExcelTable> readSheets(Collection<String> names) throws IOException {
+        Map<String, ExcelTable> tables = new LinkedHashMap<>();
+        int threads = Math.min(names.size(), Runtime.getRuntime().availableProcessors());
+        if (workbook != null || threads <= 1) {
+            for (String name : names) {
+                tables.put(name, readSheet(name));
+            }
+            return tables;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "excel-sheet-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, Future<ExcelTable>> futures = new LinkedHashMap<>();
+            for (String name : names) {
+                futures.put(name, executor.submit(() -> readSheet(name)));
+            }
+            for (Map.Entry<String, Future<ExcelTable>> future : futures.entrySet()) {
+                tables.put(future.getKey(), future.getValue().get());
+            }
+            return tables;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading sheets from: " + filePath, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Failed to read sheets from: " + filePath, cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads every sheet of the workbook
+     * @return Tables keyed by sheet name, in workbook order
+     * @throws IOException if a sheet cannot be read
+     */
+    public Map<String, ExcelTable> readAllSheets() throws IOException {
+        return readSheets(sheetNames);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pkg != null) {
+            pkg.revert();
+        }
+        if (workbook != null) {
+            workbook.close();
+        }
+    }
+
+    private void openPackage() throws IOException {
+        try {
+            pkg = OPCPackage.open(filePath, PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                sheetParts.put(sheets.getSheetName(), sheets.getSheetPart());
+            }
+        } catch (OpenXML4JException | SAXException e) {
+            revertQuietly();
+            throw new IOException("Failed to open Excel file: " + filePath, e);
+        } catch (IOException | RuntimeException e) {
+            revertQuietly();
+            throw e;
+        }
+    }
+
+    private void revertQuietly() {
+        if (pkg != null) {
+            pkg.revert();
+        }
+    }
+
+    private PackagePart sheetPart(String sheetName) {
+        PackagePart part = (sheetName != null)
+                ? sheetParts.get(sheetName)
+                : sheetParts.values().stream().findFirst().orElse(null);
+        if (part == null) {
+            throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in the Excel file");
+        }
+        return part;
+    }
+}
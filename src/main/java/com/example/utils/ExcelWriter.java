@@ -0,0 +1,326 @@
+package com.example.utils;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
+
+/**
+ * Streaming writer for large result sheets
+ * Rows are handed to a background thread through a bounded queue, so callers only block when
+ * the writer falls behind, and are written with POI's streaming workbook: only the last
+ * {@code excel.writer.window} rows (default 100) stay in memory, older rows are flushed to
+ * compressed temporary files. Cell styles are created once per format and fill colour and
+ * shared by all cells. The file is written to a temporary file and moved into place on
+ * {@link #close()}, so readers never see a half-written workbook.
+ * Rows may be written from several threads; they appear in the order they were queued.
+ */
+public class ExcelWriter implements Closeable {
+
+    /** System property overriding the number of rows kept in memory */
+    public static final String ROW_WINDOW_PROPERTY = "excel.writer.window";
+
+    private static final int DEFAULT_ROW_WINDOW = 100;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int MAX_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+    private static final String DATE_FORMAT = "yyyy-mm-dd";
+    private static final String DATE_TIME_FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    /** Marks the end of the queue */
+    private static final Object[] END = new Object[0];
+
+    /**
+     * Cell value written with a solid fill, e.g. to colour pass/fail results
+     * @param value Cell value (String, Number, Boolean, date or null)
+     * @param fill Fill colour
+     */
+    public record Highlight(Object value, IndexedColors fill) {
+    }
+
+    private final Path target;
+    private final List<String> headers;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private final Map<String, CellStyle> styles = new HashMap<>();
+    private final BlockingQueue<Object[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writerThread;
+
+    private volatile Throwable failure;
+    private volatile int rowCount;
+    private boolean closed;
+
+    private ExcelWriter(Path target, String sheetName, List<String> headers, int rowWindow) {
+        this.target = target;
+        this.headers = List.copyOf(headers);
+        this.workbook = new SXSSFWorkbook(null, rowWindow, true);
+        this.sheet = workbook.createSheet(sheetName);
+
+        CellStyle headerStyle = workbook.createCellStyle();
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        headerStyle.setFont(bold);
+        Row header = sheet.createRow(0);
+        for (int column = 0; column < this.headers.size(); column++) {
+            Cell cell = header.createCell(column);
+            cell.setCellValue(this.headers.get(column));
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+
+        this.writerThread = Thread.ofPlatform().daemon().name("excel-writer-" + target.getFileName())
+                .start(this::drainQueue);
+    }
+
+    /**
+     * Creates a writer and writes the header row
+     * @param filePath Path of the .xlsx file to create (replaced on close if it exists)
+     * @param sheetName Name of the sheet
+     * @param headers Column names
+     * @return Open writer, to be closed by the caller
+     * @throws IOException if the target directory cannot be created
+     */
+    public static ExcelWriter open(String filePath, String sheetName, List<String> headers) throws IOException {
+        if (!ExcelUtils.isXlsx(filePath)) {
+            throw new IllegalArgumentException("Unsupported file format. Only .xlsx files can be written.");
+        }
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        return new ExcelWriter(target, sheetName, headers, Integer.getInteger(ROW_WINDOW_PROPERTY, DEFAULT_ROW_WINDOW));
+    }
+
+    /**
+     * Writes a whole sheet from a stream of rows
+     * @param filePath Path of the .xlsx file to create
+     * @param sheetName Name of the sheet
+     * @param headers Column names
+     * @param rows Cell values per row, in column order
+     * @return Number of data rows written
+     * @throws IOException if the file cannot be written
+     */
+    public static int writeSheet(String filePath, String sheetName, List<String> headers,
+                                 Stream<? extends List<?>> rows) throws IOException {
+        try (ExcelWriter writer = open(filePath, sheetName, headers)) {
+            writer.writeAll(rows);
+            writer.close();
+            return writer.getRowCount();
+        }
+    }
+
+    /**
+     * Queues a row
+     * @param values Cell values in column order (String, Number, Boolean, date, {@link Highlight} or null)
+     * @throws IOException if the writer has failed or is closed
+     */
+    public void write(Object... values) throws IOException {
+        enqueue(values.clone());
+    }
+
+    /**
+     * Queues a row
+     * @param values Cell values in column order
+     * @throws IOException if the writer has failed or is closed
+     */
+    public void write(List<?> values) throws IOException {
+        enqueue(values.toArray());
+    }
+
+    /**
+     * Queues a row given as column name to value; missing columns stay empty
+     * @param row Cell values by column name
+     * @throws IOException if the writer has failed or is closed
+     */
+    public void write(Map<String, ?> row) throws IOException {
+        Object[] values = new Object[headers.size()];
+        for (Map.Entry<String, ?> entry : row.entrySet()) {
+            int column = headers.indexOf(entry.getKey());
+            if (column < 0) {
+                throw new IllegalArgumentException("Column '" + entry.getKey() + "' not found in " + headers);
+            }
+            values[column] = entry.getValue();
+        }
+        enqueue(values);
+    }
+
+    /**
+     * Queues every row of a stream
+     * @param rows Cell values per row, in column order
+     * @throws IOException if the writer has failed or is closed
+     */
+    public void writeAll(Stream<? extends List<?>> rows) throws IOException {
+        writeAll(rows.iterator());
+    }
+
+    /**
+     * Queues every remaining row of an iterator
+     * @param rows Cell values per row, in column order
+     * @throws IOException if the writer has failed or is closed
+     */
+    public void writeAll(Iterator<? extends List<?>> rows) throws IOException {
+        while (rows.hasNext()) {
+            write(rows.next());
+        }
+    }
+
+    /**
+     * @return Number of data rows written so far (all queued rows once the writer is closed)
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Waits for the queued rows and writes the file
+     * @throws IOException if a row or the file could not be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            writerThread.join();
+            if (failure != null) {
+                throw new IOException("Failed to write Excel file: " + target, failure);
+            }
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    workbook.write(out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing Excel file: " + target);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void enqueue(Object[] values) throws IOException {
+        if (failure != null) {
+            throw new IOException("Failed to write Excel file: " + target, failure);
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("Excel writer already closed: " + target);
+            }
+        }
+        try {
+            queue.put(values);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while queueing a row for " + target);
+        }
+    }
+
+    /**
+     * Runs on the writer thread; keeps draining after a failure so producers never block forever
+     */
+    private void drainQueue() {
+        try {
+            while (true) {
+                Object[] values = queue.take();
+                if (values == END) {
+                    return;
+                }
+                if (failure == null) {
+                    try {
+                        writeRow(values);
+                    } catch (RuntimeException e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+        }
+    }
+
+    private void writeRow(Object[] values) {
+        Row row = sheet.createRow(rowCount + 1);
+        for (int column = 0; column < values.length; column++) {
+            writeCell(row, column, values[column]);
+        }
+        rowCount++;
+    }
+
+    private void writeCell(Row row, int column, Object value) {
+        IndexedColors fill = null;
+        if (value instanceof Highlight highlight) {
+            value = highlight.value();
+            fill = highlight.fill();
+        }
+        if (value == null && fill == null) {
+            return;
+        }
+
+        Cell cell = row.createCell(column);
+        String format = null;
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean flag) {
+            cell.setCellValue(flag);
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            format = DATE_FORMAT;
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            format = DATE_TIME_FORMAT;
+        } else if (value instanceof Date date) {
+            cell.setCellValue(date);
+            format = DATE_TIME_FORMAT;
+        } else if (value != null) {
+            String text = value.toString();
+            // Longer text (e.g. stack traces) is rejected by Excel
+            cell.setCellValue(text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text);
+        }
+        if (format != null || fill != null) {
+            cell.setCellStyle(style(format, fill));
+        }
+    }
+
+    private CellStyle style(String format, IndexedColors fill) {
+        return styles.computeIfAbsent(format + "|" + fill, key -> {
+            CellStyle style = workbook.createCellStyle();
+            if (format != null) {
+                style.setDataFormat(workbook.createDataFormat().getFormat(format));
+            }
+            if (fill != null) {
+                style.setFillForegroundColor(fill.getIndex());
+                style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            }
+            return style;
+        });
+    }
+}
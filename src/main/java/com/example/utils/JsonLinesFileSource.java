@@ -0,0 +1,263 @@
+package com.example.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * JSON lines files (.jsonl, .ndjson): one flat JSON object per line
+ * The keys of the first object are the columns; later objects may leave keys out (blank cells)
+ * but may not add new ones. Strings and numbers keep their text, booleans are typed like Excel
+ * booleans, nulls are blank, and nested objects or arrays are kept as their JSON text.
+ * The file is read line by line, so only one record is held in memory at a time.
+ */
+final class JsonLinesFileSource implements TestDataSource {
+
+    @Override
+    public boolean supports(String filePath) {
+        String path = filePath.toLowerCase(Locale.ROOT);
+        return path.endsWith(".jsonl") || path.endsWith(".ndjson");
+    }
+
+    @Override
+    public List<String> getSheetNames(String filePath) {
+        return List.of(CsvFileSource.sheetNameOf(filePath));
+    }
+
+    @Override
+    public void streamRows(String filePath, String sheetName, BiConsumer<Integer, Map<String, String>> rowConsumer)
+            throws IOException {
+        scan(filePath, sheetName, (rowNumber, row) -> rowConsumer.accept(rowNumber, row.toMap()));
+    }
+
+    @Override
+    public ExcelTable readTable(String filePath, String sheetName) throws IOException {
+        return readTable(filePath, sheetName, Map.of());
+    }
+
+    @Override
+    public ExcelTable readTable(String filePath, String sheetName,
+                                Map<String, Predicate<String>> conditions) throws IOException {
+        return ExcelTable.collect(consumer -> scan(filePath, sheetName, consumer), conditions);
+    }
+
+    private void scan(String filePath, String sheetName, BiConsumer<Integer, DecodedRow> consumer) throws IOException {
+        CsvFileSource.checkSheet(filePath, sheetName);
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            DecodedRow row = null;
+            Map<String, Integer> columns = null;
+            int rowNumber = 0;
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> record;
+                try {
+                    record = new Parser(line).parseObject();
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Invalid JSON on line " + lineNumber + " of " + filePath + ": " + e.getMessage());
+                }
+                if (row == null) {
+                    List<String> headers = new ArrayList<>(record.keySet());
+                    columns = new HashMap<>();
+                    for (int column = 0; column < headers.size(); column++) {
+                        columns.put(headers.get(column), column);
+                    }
+                    row = new DecodedRow(headers);
+                }
+
+                row.clear();
+                for (Map.Entry<String, Object> field : record.entrySet()) {
+                    Integer column = columns.get(field.getKey());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Key '" + field.getKey() + "' on line " + lineNumber
+                                + " of " + filePath + " is not a column of the first record");
+                    }
+                    Object value = field.getValue();
+                    if (value instanceof Boolean flag) {
+                        row.setBoolean(column, flag);
+                    } else if (value != null) {
+                        row.setString(column, value.toString());
+                    }
+                }
+                consumer.accept(++rowNumber, row);
+            }
+        }
+    }
+
+    /**
+     * Minimal parser for one flat JSON object
+     */
+    private static final class Parser {
+
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        /**
+         * @return Keys in document order mapped to a String, Boolean or null
+         */
+        Map<String, Object> parseObject() {
+            Map<String, Object> record = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return record;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                record.put(key, parseValue());
+                skipWhitespace();
+                char next = next();
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw new IllegalArgumentException("Expected ',' or '}' at position " + (position - 1));
+                }
+            }
+            skipWhitespace();
+            if (position < text.length()) {
+                throw new IllegalArgumentException("Unexpected content at position " + position);
+            }
+            return record;
+        }
+
+        private Object parseValue() {
+            char first = peek();
+            if (first == '"') {
+                return parseString();
+            }
+            if (first == '{' || first == '[') {
+                return parseNested();
+            }
+            int start = position;
+            while (position < text.length() && ",}] \t".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            switch (literal) {
+                case "true":
+                    return Boolean.TRUE;
+                case "false":
+                    return Boolean.FALSE;
+                case "null":
+                    return null;
+                default:
+                    if (literal.isEmpty()) {
+                        throw new IllegalArgumentException("Missing value at position " + start);
+                    }
+                    return literal;
+            }
+        }
+
+        /**
+         * @return Nested object or array as its JSON text
+         */
+        private String parseNested() {
+            int start = position;
+            int depth = 0;
+            do {
+                char current = next();
+                if (current == '"') {
+                    position--;
+                    parseString();
+                } else if (current == '{' || current == '[') {
+                    depth++;
+                } else if (current == '}' || current == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+            return text.substring(start, position);
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char current = next();
+                if (current == '"') {
+                    return value.toString();
+                }
+                if (current != '\\') {
+                    value.append(current);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw new IllegalArgumentException("Truncated unicode escape at position " + position);
+                        }
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        position += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peek() {
+            if (position >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of line");
+            }
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char current = peek();
+            position++;
+            return current;
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (next() != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at position " + (position - 1));
+            }
+        }
+    }
+}
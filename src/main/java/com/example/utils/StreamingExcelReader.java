@@ -0,0 +1,372 @@
+package com.example.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming reader for .xlsx files built on POI's event (SAX) model.
+ * Rows are handed to a consumer as soon as they are parsed, so memory
+ * stays bounded by a single row instead of the whole workbook DOM.
+ * Cell values are formatted the same way as {@link ExcelUtils#readExcelToMapOfMaps(String, String)}.
+ */
+public class StreamingExcelReader {
+
+    private StreamingExcelReader() {
+    }
+
+    /**
+     * Streams the rows of a sheet to the given consumer
+     * @param filePath Path to the .xlsx file
+     * @param sheetName Name of the sheet to read (reads first sheet if null)
+     * @param rowConsumer Receives the row number (1-based, excluding header) and the row data
+     * @throws IOException if file cannot be read
+     */
+    public static void read(String filePath, String sheetName,
+                            BiConsumer<Integer, Map<String, String>> rowConsumer) throws IOException {
+        readCells(filePath, sheetName, (rowNumber, row) -> rowConsumer.accept(rowNumber, row.toMap()));
+    }
+
+    /**
+     * Streams the decoded cells of a sheet, without formatting them as text
+     * @param filePath Path to the .xlsx file
+     * @param sheetName Name of the sheet to read (reads first sheet if null)
+     * @param rowConsumer Receives the row number and a reused buffer holding the row's cells
+     * @throws IOException if file cannot be read
+     */
+    static void readCells(String filePath, String sheetName,
+                          BiConsumer<Integer, DecodedRow> rowConsumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(filePath, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    if (sheetName == null || sheetName.equals(sheets.getSheetName())) {
+                        readSheetCells(sheetStream, sharedStrings, styles, rowConsumer);
+                        return;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in the Excel file");
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("Failed to stream Excel file: " + filePath, e);
+        }
+    }
+
+    /**
+     * Streams the rows of an already opened worksheet part
+     * @param sheetStream Worksheet XML
+     * @param sharedStrings Shared strings of the workbook
+     * @param styles Styles of the workbook, used to recognise date cells
+     * @param rowConsumer Receives the row number (1-based, excluding header) and the row data
+     * @throws IOException if the sheet cannot be read
+     * @throws SAXException if the sheet XML is invalid
+     */
+    static void readSheet(InputStream sheetStream, ReadOnlySharedStringsTable sharedStrings, StylesTable styles,
+                          BiConsumer<Integer, Map<String, String>> rowConsumer) throws IOException, SAXException {
+        readSheetCells(sheetStream, sharedStrings, styles, (rowNumber, row) -> rowConsumer.accept(rowNumber, row.toMap()));
+    }
+
+    /**
+     * Streams the decoded cells of an already opened worksheet part, without formatting them as text
+     * @param sheetStream Worksheet XML
+     * @param sharedStrings Shared strings of the workbook
+     * @param styles Styles of the workbook, used to recognise date cells
+     * @param rowConsumer Receives the row number and a reused buffer holding the row's cells
+     * @throws IOException if the sheet cannot be read
+     * @throws SAXException if the sheet XML is invalid
+     */
+    static void readSheetCells(InputStream sheetStream, ReadOnlySharedStringsTable sharedStrings, StylesTable styles,
+                               BiConsumer<Integer, DecodedRow> rowConsumer) throws IOException, SAXException {
+        SheetHandler handler = new SheetHandler(sharedStrings, styles, rowConsumer);
+        parse(sheetStream, handler);
+        if (!handler.headerSeen) {
+            throw new IllegalArgumentException("Header row not found in the Excel sheet");
+        }
+    }
+
+    /**
+     * Reads the last row index of a worksheet from its dimension metadata, without parsing the rows.
+     * Falls back to scanning the row elements when the sheet has no usable dimension.
+     * @param sheetStream Worksheet XML
+     * @return 0-based index of the last row, the same value as {@code Sheet.getLastRowNum()}
+     * @throws IOException if the sheet cannot be read
+     * @throws SAXException if the sheet XML is invalid
+     */
+    static int readLastRowNum(InputStream sheetStream) throws IOException, SAXException {
+        DimensionHandler handler = new DimensionHandler();
+        try {
+            parse(sheetStream, handler);
+        } catch (StopParsingException e) {
+            // Dimension found, the rest of the sheet is not needed
+        }
+        return handler.lastRowNum;
+    }
+
+    private static void parse(InputStream sheetStream, DefaultHandler handler) throws IOException, SAXException {
+        try {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(sheetStream));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException("SAX parser not available", e);
+        }
+    }
+
+    /**
+     * Thrown to abort parsing once the needed metadata has been read
+     */
+    private static class StopParsingException extends SAXException {
+    }
+
+    /**
+     * SAX handler that reads the last row from the {@code <dimension ref="A1:E51"/>} element,
+     * or from the row elements when the dimension is missing or only names a single cell.
+     */
+    private static class DimensionHandler extends DefaultHandler {
+
+        private int lastRowNum = -1;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            if ("dimension".equals(localName)) {
+                String ref = attributes.getValue("ref");
+                int separator = (ref != null) ? ref.indexOf(':') : -1;
+                if (separator > 0) {
+                    lastRowNum = rowIndex(ref.substring(separator + 1));
+                    throw new StopParsingException();
+                }
+            } else if ("row".equals(localName)) {
+                String rowRef = attributes.getValue("r");
+                lastRowNum = (rowRef != null) ? Integer.parseInt(rowRef) - 1 : lastRowNum + 1;
+            }
+        }
+
+        private static int rowIndex(String cellReference) {
+            int i = 0;
+            while (i < cellReference.length() && !Character.isDigit(cellReference.charAt(i))) {
+                i++;
+            }
+            return Integer.parseInt(cellReference.substring(i)) - 1;
+        }
+    }
+
+    /**
+     * SAX handler for a single worksheet part. Keeps only the current row's cells in memory.
+     */
+    private static class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StylesTable styles;
+        private final BiConsumer<Integer, DecodedRow> rowConsumer;
+
+        private final List<String> headers = new ArrayList<>();
+        private DecodedRow row;
+        private boolean headerSeen;
+
+        private int rowIndex;
+        private int nextColumn;
+
+        // Current cell state
+        private int cellColumn;
+        private String cellType;
+        private String cellStyle;
+        private boolean cellHasFormula;
+        private boolean collectingText;
+        private final StringBuilder text = new StringBuilder();
+        private String cellValue;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles,
+                     BiConsumer<Integer, DecodedRow> rowConsumer) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String rowRef = attributes.getValue("r");
+                    rowIndex = (rowRef != null) ? Integer.parseInt(rowRef) - 1 : rowIndex + 1;
+                    nextColumn = 0;
+                    if (headerSeen) {
+                        row.clear();
+                    }
+                    break;
+                case "c":
+                    String cellRef = attributes.getValue("r");
+                    cellColumn = (cellRef != null) ? columnIndex(cellRef) : nextColumn;
+                    nextColumn = cellColumn + 1;
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    cellHasFormula = false;
+                    cellValue = null;
+                    break;
+                case "f":
+                    cellHasFormula = true;
+                    break;
+                case "v":
+                case "t":
+                    collectingText = true;
+                    text.setLength(0);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectingText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    collectingText = false;
+                    // Inline strings may be split into several rich text runs
+                    cellValue = (cellValue != null && "t".equals(localName)) ? cellValue + text : text.toString();
+                    break;
+                case "c":
+                    storeCell();
+                    break;
+                case "row":
+                    endRow();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void storeCell() {
+            if (rowIndex == 0) {
+                // Mirror the DOM reader: headers are taken from the physical cells of the first row
+                headers.add(formatHeader());
+            } else if (headerSeen) {
+                decodeCell();
+            }
+        }
+
+        private void endRow() {
+            if (rowIndex == 0) {
+                headerSeen = true;
+                row = new DecodedRow(List.copyOf(headers));
+                return;
+            }
+            if (!headerSeen) {
+                throw new IllegalArgumentException("Header row not found in the Excel sheet");
+            }
+            rowConsumer.accept(rowIndex, row);
+        }
+
+        /**
+         * Stores the current cell in the row buffer; numbers, dates and booleans stay primitive
+         */
+        private void decodeCell() {
+            if (cellValue == null) {
+                return;
+            }
+            if (cellType == null || "n".equals(cellType)) {
+                double numericValue = Double.parseDouble(cellValue);
+                byte type = cellHasFormula ? DecodedRow.FORMULA_NUMBER
+                        : isDateFormatted(numericValue) ? DecodedRow.DATE : DecodedRow.NUMBER;
+                row.setNumber(cellColumn, numericValue, type);
+                return;
+            }
+            switch (cellType) {
+                case "s":
+                    row.setString(cellColumn, sharedStrings.getItemAt(Integer.parseInt(cellValue)).getString().trim());
+                    break;
+                case "inlineStr":
+                    row.setString(cellColumn, cellValue.trim());
+                    break;
+                case "str":
+                    row.setString(cellColumn, cellValue);
+                    break;
+                case "b":
+                    row.setBoolean(cellColumn, "1".equals(cellValue));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private String formatHeader() {
+            if (cellValue == null) {
+                return "";
+            }
+            if (cellType == null || "n".equals(cellType)) {
+                double numericValue = Double.parseDouble(cellValue);
+                if (cellHasFormula) {
+                    return DecodedRow.format(DecodedRow.FORMULA_NUMBER, numericValue);
+                }
+                return DecodedRow.format(isDateFormatted(numericValue) ? DecodedRow.DATE : DecodedRow.NUMBER,
+                        numericValue);
+            }
+            switch (cellType) {
+                case "s":
+                    return sharedStrings.getItemAt(Integer.parseInt(cellValue)).getString().trim();
+                case "inlineStr":
+                    return cellValue.trim();
+                case "str":
+                    return cellValue;
+                case "b":
+                    return String.valueOf("1".equals(cellValue));
+                default:
+                    return "";
+            }
+        }
+
+        private boolean isDateFormatted(double numericValue) {
+            if (cellStyle == null || styles == null) {
+                return false;
+            }
+            XSSFCellStyle style = styles.getStyleAt(Integer.parseInt(cellStyle));
+            if (style == null) {
+                return false;
+            }
+            return DateUtil.isValidExcelDate(numericValue)
+                    && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        }
+
+        private static int columnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                char ch = cellReference.charAt(i);
+                if (ch < 'A' || ch > 'Z') {
+                    break;
+                }
+                column = column * 26 + (ch - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Reader for one test data file format
+ * The format is chosen by file path ({@link #forFile(String)}): Excel (.xlsx, .xls), CSV (.csv, .tsv)
+ * and JSON lines (.jsonl, .ndjson) are built in, further formats can be added by listing an
+ * implementation in {@code META-INF/services/com.example.utils.TestDataSource}. Every format
+ * produces the same {@link ExcelTable}, so steps, the cache and lazy data sources work unchanged
+ * when a data set moves to a cheaper format.
+ * Files without sheets expose a single sheet named after the file (without extension).
+ */
+public interface TestDataSource {
+
+    /**
+     * Sheet names of a file together with the data row count of one of its sheets
+     * @param sheetNames Sheet names in file order
+     * @param rowCount Number of data rows of the requested sheet
+     */
+    record SheetInfo(List<String> sheetNames, int rowCount) {
+    }
+
+    /**
+     * @param filePath Path to a test data file
+     * @return true if this source reads the file (usually decided by extension)
+     */
+    boolean supports(String filePath);
+
+    /**
+     * @param filePath Path to the file
+     * @return Sheet names in file order
+     * @throws IOException if file cannot be read
+     */
+    List<String> getSheetNames(String filePath) throws IOException;
+
+    /**
+     * Streams the data rows of a sheet
+     * @param filePath Path to the file
+     * @param sheetName Name of the sheet (optional, first sheet if null)
+     * @param rowConsumer Receives the row number (1-based, excluding header) and the row data
+     * @throws IOException if file cannot be read
+     */
+    void streamRows(String filePath, String sheetName, BiConsumer<Integer, Map<String, String>> rowConsumer)
+            throws IOException;
+
+    /**
+     * @param filePath Path to the file
+     * @param sheetName Name of the sheet (optional, first sheet if null)
+     * @return Number of data rows
+     * @throws IOException if file cannot be read
+     */
+    default int getRowCount(String filePath, String sheetName) throws IOException {
+        return readTable(filePath, sheetName).size();
+    }
+
+    /**
+     * Reads the sheet names and the row count of a sheet in one go
+     * Sources whose files are expensive to open override this to open them once for both.
+     * @param filePath Path to the file
+     * @param sheetName Name of the sheet to count (optional, first sheet if null)
+     * @return Sheet names and row count
+     * @throws IOException if file cannot be read
+     */
+    default SheetInfo getSheetInfo(String filePath, String sheetName) throws IOException {
+        return new SheetInfo(getSheetNames(filePath), getRowCount(filePath, sheetName));
+    }
+
+    /**
+     * Reads a sheet into a compact table
+     * @param filePath Path to the file
+     * @param sheetName Name of the sheet (optional, first sheet if null)
+     * @return Table holding all data rows of the sheet
+     * @throws IOException if file cannot be read
+     */
+    default ExcelTable readTable(String filePath, String sheetName) throws IOException {
+        ExcelTable.Builder builder = new ExcelTable.Builder();
+        streamRows(filePath, sheetName, builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Reads the rows of a sheet that match all conditions
+     * @param filePath Path to the file
+     * @param sheetName Name of the sheet (optional, first sheet if null)
+     * @param conditions Predicate on the cell text per column name; all must match
+     * @return Table holding the matching rows, with their original row numbers
+     * @throws IOException if file cannot be read
+     */
+    default ExcelTable readTable(String filePath, String sheetName,
+                                 Map<String, Predicate<String>> conditions) throws IOException {
+        return readTable(filePath, sheetName).filter(conditions);
+    }
+
+    /**
+     * Finds the reader for a file
+     * @param filePath Path to a test data file
+     * @return First registered source supporting the file; registered sources take precedence over built-in ones
+     * @throws IllegalArgumentException if no source supports the file
+     */
+    static TestDataSource forFile(String filePath) {
+        return TestDataSources.forFile(filePath);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the available {@link TestDataSource} formats
+ * Sources listed in META-INF/services are loaded once and checked before the built-in formats.
+ */
+final class TestDataSources {
+
+    private static final List<TestDataSource> SOURCES = load();
+
+    private TestDataSources() {
+    }
+
+    static TestDataSource forFile(String filePath) {
+        for (TestDataSource source : SOURCES) {
+            if (source.supports(filePath)) {
+                return source;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported file format: " + filePath
+                + ". Supported formats are .xlsx, .xls, .csv, .tsv, .jsonl and .ndjson.");
+    }
+
+    private static List<TestDataSource> load() {
+        List<TestDataSource> sources = new ArrayList<>();
+        ServiceLoader.load(TestDataSource.class).forEach(sources::add);
+        sources.add(new ExcelFileSource());
+        sources.add(new CsvFileSource());
+        sources.add(new JsonLinesFileSource());
+        return List.copyOf(sources);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Records which sheets and rows the current scenario reads
+ * A scope is opened per scenario on the thread running it ({@link #begin()}); {@link ExcelDataSource}
+ * reports every row and sheet it loads into that scope. Outside a scope recording is a no-op,
+ * so plain unit tests and tools are unaffected.
+ */
+public final class TestDataUsage {
+
+    private static final ThreadLocal<Set<Dependency>> CURRENT = new ThreadLocal<>();
+
+    private TestDataUsage() {
+    }
+
+    /**
+     * Data a scenario depends on: a single row, or a whole sheet when {@code rowNumber} is 0
+     * @param filePath Path to the Excel file, as used by the step
+     * @param sheetName Name of the sheet (null for the first sheet)
+     * @param rowNumber Row number (1-based, excluding header), or 0 for the whole sheet
+     */
+    public record Dependency(String filePath, String sheetName, int rowNumber) {
+
+        private static final char SEPARATOR = '|';
+
+        public boolean isSheet() {
+            return rowNumber == 0;
+        }
+
+        /**
+         * Parses the form written by {@link #toString()}
+         * @param text Dependency in the form file|sheet|row
+         * @return Parsed dependency
+         * @throws IllegalArgumentException if the text is not a dependency
+         */
+        public static Dependency parse(String text) {
+            int rowSeparator = text.lastIndexOf(SEPARATOR);
+            int sheetSeparator = rowSeparator > 0 ? text.lastIndexOf(SEPARATOR, rowSeparator - 1) : -1;
+            if (sheetSeparator < 0) {
+                throw new IllegalArgumentException("Not a test data dependency: " + text);
+            }
+            String sheetName = text.substring(sheetSeparator + 1, rowSeparator);
+            return new Dependency(text.substring(0, sheetSeparator), sheetName.isEmpty() ? null : sheetName,
+                    Integer.parseInt(text.substring(rowSeparator + 1)));
+        }
+
+        @Override
+        public String toString() {
+            return filePath + SEPARATOR + (sheetName != null ? sheetName : "") + SEPARATOR + rowNumber;
+        }
+    }
+
+    /**
+     * Starts recording for the scenario running on the current thread
+     */
+    public static void begin() {
+        CURRENT.set(new LinkedHashSet<>());
+    }
+
+    /**
+     * Stops recording on the current thread
+     * @return Read-only Set of the data read since {@link #begin()}, empty if no scope was open
+     */
+    public static Set<Dependency> end() {
+        Set<Dependency> dependencies = CURRENT.get();
+        CURRENT.remove();
+        return dependencies != null ? Collections.unmodifiableSet(dependencies) : Set.of();
+    }
+
+    /**
+     * Records that the current scenario read a single row
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet (null for the first sheet)
+     * @param rowNumber Row number (1-based, excluding header)
+     */
+    public static void recordRow(String filePath, String sheetName, int rowNumber) {
+        Set<Dependency> dependencies = CURRENT.get();
+        if (dependencies != null) {
+            dependencies.add(new Dependency(filePath, sheetName, rowNumber));
+        }
+    }
+
+    /**
+     * Records that the current scenario depends on a whole sheet (iteration, size, filters, sheet info)
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet (null for the first sheet)
+     */
+    public static void recordSheet(String filePath, String sheetName) {
+        Set<Dependency> dependencies = CURRENT.get();
+        if (dependencies != null) {
+            dependencies.add(new Dependency(filePath, sheetName, 0));
+        }
+    }
+}
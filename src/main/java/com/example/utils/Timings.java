@@ -0,0 +1,67 @@
+package com.example.utils;
+
+/**
+ * Process-wide hook that reports the duration of instrumented operations
+ * Test data loads ({@link ExcelDataCache}) and pooled WebDriver calls report here.
+ * Nothing is recorded until a recorder is installed (the test run's timing plugin does this),
+ * so while timing is off an operation costs one volatile read.
+ */
+public final class Timings {
+
+    /**
+     * Receives the durations; called on the thread that ran the operation
+     */
+    @FunctionalInterface
+    public interface Recorder {
+
+        /**
+         * @param category Kind of operation (e.g. "data", "webdriver")
+         * @param name Operation within the category; should have few distinct values
+         * @param nanos Duration in nanoseconds
+         */
+        void record(String category, String name, long nanos);
+    }
+
+    private static volatile Recorder recorder;
+
+    private Timings() {
+    }
+
+    /**
+     * Sends all further durations to a recorder
+     * @param newRecorder Recorder to install
+     */
+    public static synchronized void install(Recorder newRecorder) {
+        recorder = newRecorder;
+    }
+
+    /**
+     * Stops recording if the given recorder is the installed one
+     * @param installed Recorder passed to {@link #install(Recorder)}
+     */
+    public static synchronized void uninstall(Recorder installed) {
+        if (recorder == installed) {
+            recorder = null;
+        }
+    }
+
+    /**
+     * @return true if a recorder is installed
+     */
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * Reports an operation that started at the given time
+     * @param category Kind of operation
+     * @param name Operation within the category
+     * @param startNanos {@link System#nanoTime()} taken when the operation started
+     */
+    public static void record(String category, String name, long startNanos) {
+        Recorder current = recorder;
+        if (current != null) {
+            current.record(category, name, System.nanoTime() - startNanos);
+        }
+    }
+}
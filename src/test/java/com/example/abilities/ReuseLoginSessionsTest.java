@@ -0,0 +1,121 @@
+package com.example.abilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the login session cache (expiry, keys and the landing wait; injection needs a real browser)
+ */
+public class ReuseLoginSessionsTest {
+
+    private static final ReuseLoginSessions.SessionKey ADMIN =
+            new ReuseLoginSessions.SessionKey("https://example.com", "admin", "admin123");
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Test a session is reused until its TTL runs out")
+    public void testSessionExpires() {
+        ReuseLoginSessions sessions = new ReuseLoginSessions(Duration.ofMinutes(10), clock);
+        sessions.store(ADMIN, session(clock.instant().plus(Duration.ofMinutes(10))));
+
+        clock.advance(Duration.ofMinutes(9));
+        assertNotNull(sessions.find(ADMIN));
+
+        clock.advance(Duration.ofMinutes(1));
+        assertNull(sessions.find(ADMIN));
+    }
+
+    @Test
+    @DisplayName("Test sessions are kept per application, user and password")
+    public void testSessionKeys() {
+        ReuseLoginSessions sessions = new ReuseLoginSessions(Duration.ofMinutes(10), clock);
+        sessions.store(ADMIN, session(clock.instant().plus(Duration.ofMinutes(10))));
+
+        assertNotNull(sessions.find(new ReuseLoginSessions.SessionKey("https://example.com", "admin", "admin123")));
+        assertNull(sessions.find(new ReuseLoginSessions.SessionKey("https://example.com", "admin", "wrong")));
+        assertNull(sessions.find(new ReuseLoginSessions.SessionKey("https://staging.example.com", "admin", "admin123")));
+        assertFalse(ADMIN.toString().contains("admin123"));
+    }
+
+    @Test
+    @DisplayName("Test login page detection")
+    public void testIsLoginPage() {
+        assertTrue(ReuseLoginSessions.isLoginPage("https://example.com/login"));
+        assertTrue(ReuseLoginSessions.isLoginPage("https://example.com/login?next=%2Fdashboard"));
+        assertFalse(ReuseLoginSessions.isLoginPage("https://example.com/dashboard"));
+    }
+
+    @Test
+    @DisplayName("Test capture waits until the browser has left the login page")
+    public void testAwaitLanding() {
+        WebDriver redirecting = fakeDriver(3, "https://example.com/dashboard");
+        WebDriver rejected = fakeDriver(Integer.MAX_VALUE, "https://example.com/dashboard");
+
+        assertTrue(ReuseLoginSessions.awaitLanding(redirecting, Duration.ofSeconds(5)));
+        assertEquals("https://example.com/dashboard", redirecting.getCurrentUrl());
+        assertFalse(ReuseLoginSessions.awaitLanding(rejected, Duration.ofMillis(600)));
+    }
+
+    private static ReuseLoginSessions.LoginSession session(Instant expiresAt) {
+        return new ReuseLoginSessions.LoginSession("https://example.com/dashboard",
+                Set.of(new Cookie("SESSION", "abc")), Map.of("token", "xyz"), Map.of(), expiresAt);
+    }
+
+    /**
+     * @param loginPageReads Number of URL reads that still return the login page
+     * @param landingUrl URL returned afterwards
+     */
+    private WebDriver fakeDriver(int loginPageReads, String landingUrl) {
+        AtomicInteger reads = new AtomicInteger();
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getCurrentUrl":
+                            return reads.getAndIncrement() < loginPageReads ? "https://example.com/login" : landingUrl;
+                        case "executeScript":
+                            return "complete";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.abilities;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tests for the HTTP API ability against a local stub server
+ */
+public class UseHttpApiTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    public void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/users", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String token = exchange.getRequestHeaders().getFirst("Authorization");
+            respond(exchange, "POST".equals(exchange.getRequestMethod()) ? 201 : 200,
+                    exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + " " + token + " " + body);
+        });
+        server.createContext("/api/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "late");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    @AfterEach
+    public void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Test requests are resolved against the base URL and carry default headers")
+    public void testRequests() throws IOException {
+        UseHttpApi api = UseHttpApi.at(baseUrl, Duration.ofSeconds(5)).withHeader("Authorization", "Bearer abc");
+
+        HttpResponse<String> created = api.post("/users", "{\"name\":\"admin\"}", "application/json");
+        HttpResponse<String> listed = api.get("users");
+
+        assertEquals(201, created.statusCode());
+        assertEquals("POST /api/users Bearer abc {\"name\":\"admin\"}", created.body());
+        assertEquals(200, listed.statusCode());
+        assertEquals("GET /api/users Bearer abc ", listed.body());
+        assertEquals(2, api.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Test headers are not shared between instances")
+    public void testHeadersArePerInstance() throws IOException {
+        UseHttpApi.at(baseUrl, Duration.ofSeconds(5)).withHeader("Authorization", "Bearer abc");
+
+        HttpResponse<String> response = UseHttpApi.at(baseUrl, Duration.ofSeconds(5)).get("users");
+
+        assertEquals("GET /api/users null ", response.body());
+    }
+
+    @Test
+    @DisplayName("Test parallel requests share the client")
+    public void testParallelRequests() {
+        UseHttpApi api = UseHttpApi.at(baseUrl, Duration.ofSeconds(5));
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            responses.add(api.sendAsync(api.request("users/" + i).GET()));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("GET /api/users/" + i + " null ", responses.get(i).join().body());
+        }
+    }
+
+    @Test
+    @DisplayName("Test slow responses fail after the request timeout")
+    public void testTimeout() {
+        UseHttpApi api = UseHttpApi.at(baseUrl, Duration.ofMillis(200));
+
+        assertThrows(IOException.class, () -> api.get("slow"));
+    }
+
+    @Test
+    @DisplayName("Test the scenario scope uses test.properties")
+    public void testScenarioScope() {
+        UseHttpApi api = UseHttpApi.startScenario();
+        try {
+            assertSame(api, UseHttpApi.forCurrentScenario());
+            assertEquals("https://api.example.com/", api.getBaseUri().toString());
+        } finally {
+            assertSame(api, UseHttpApi.endScenario());
+        }
+        assertNull(UseHttpApi.forCurrentScenario());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.drivers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests for the request interception rules
+ */
+public class NetworkRulesTest {
+
+    @Test
+    @DisplayName("Test URL patterns block matching requests only")
+    public void testBlockedUrls() {
+        NetworkRules rules = NetworkRules.parse("*google-analytics.com/*, *.woff2", "", "");
+
+        assertEquals(NetworkRules.Action.BLOCK,
+                rules.decide("https://www.google-analytics.com/analytics.js", null, true));
+        assertEquals(NetworkRules.Action.BLOCK, rules.decide("https://example.com/fonts/a.woff2", "font", true));
+        assertEquals(NetworkRules.Action.CONTINUE, rules.decide("https://example.com/dashboard", "document", true));
+    }
+
+    @Test
+    @DisplayName("Test resource types come from Sec-Fetch-Dest or the file extension")
+    public void testBlockedTypes() {
+        NetworkRules rules = NetworkRules.parse("", "image,font", "");
+
+        assertEquals(NetworkRules.Action.BLOCK, rules.decide("https://example.com/avatar", "image", true));
+        assertEquals(NetworkRules.Action.BLOCK, rules.decide("http://stub:8080/logo.PNG?v=2", null, true));
+        assertEquals(NetworkRules.Action.CONTINUE, rules.decide("https://example.com/app.js", "script", true));
+        assertEquals("stylesheet", NetworkRules.resourceType("https://example.com/app", "style"));
+        assertEquals("script", NetworkRules.resourceType("http://stub:8080/app.js#main", null));
+    }
+
+    @Test
+    @DisplayName("Test assets in the cache directory are served for GET requests")
+    public void testCachedAssets(@TempDir Path tempDir) throws IOException {
+        Path asset = tempDir.resolve("cdn.example.com/css/app.css");
+        Files.createDirectories(asset.getParent());
+        Files.writeString(asset, "body {}");
+        NetworkRules rules = NetworkRules.parse("", "", tempDir.toString());
+
+        assertFalse(rules.isEmpty());
+        assertEquals(NetworkRules.Action.SERVE_CACHED, rules.decide("https://cdn.example.com/css/app.css", "style", true));
+        assertEquals(NetworkRules.Action.CONTINUE, rules.decide("https://cdn.example.com/css/app.css", "style", false));
+        assertEquals(NetworkRules.Action.CONTINUE, rules.decide("https://cdn.example.com/css/other.css", "style", true));
+        assertNull(rules.cachedFile("https://cdn.example.com/../../etc/passwd"));
+    }
+
+    @Test
+    @DisplayName("Test rules without patterns, types or cache are empty")
+    public void testEmptyRules() {
+        assertTrue(NetworkRules.parse("", " ", "").isEmpty());
+        assertTrue(NetworkRules.parse(null, null, "does-not-exist").isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.drivers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the WebDriver session pool, using in-memory fake drivers
+ */
+public class WebDriverPoolTest {
+
+    private final List<FakeDriver> drivers = new ArrayList<>();
+
+    @Test
+    @DisplayName("Test released sessions are reused")
+    public void testSessionsAreReused() {
+        WebDriverPool pool = new WebDriverPool(this::newFakeDriver, 2, 10, 1000);
+
+        WebDriverPool.Session first = pool.lease();
+        pool.release(first, false);
+        WebDriverPool.Session second = pool.lease();
+
+        assertSame(first, second);
+        assertEquals(2, second.getUses());
+        assertEquals(1, pool.getMetrics().getCreatedCount());
+        assertEquals(1, pool.getMetrics().getReusedCount());
+        assertEquals(0, drivers.get(0).quits.get());
+        assertTrue(drivers.get(0).visited.contains("about:blank"));
+    }
+
+    @Test
+    @DisplayName("Test sessions are recycled after max uses or a crash")
+    public void testSessionsAreRecycled() {
+        WebDriverPool pool = new WebDriverPool(this::newFakeDriver, 1, 2, 1000);
+
+        pool.release(pool.lease(), false);
+        pool.release(pool.lease(), false);
+        assertEquals(1, drivers.get(0).quits.get());
+
+        pool.release(pool.lease(), true);
+        assertEquals(1, drivers.get(1).quits.get());
+        assertEquals(1, pool.getMetrics().getRecycledCount());
+        assertEquals(1, pool.getMetrics().getCrashedCount());
+        assertEquals(3, pool.getMetrics().getLeaseCount());
+    }
+
+    @Test
+    @DisplayName("Test leases wait for a free session")
+    public void testLeaseTimesOutWhenPoolIsExhausted() {
+        WebDriverPool pool = new WebDriverPool(this::newFakeDriver, 1, 10, 50);
+
+        pool.lease();
+
+        assertThrows(IllegalStateException.class, pool::lease);
+    }
+
+    @Test
+    @DisplayName("Test quit on the wrapped driver returns it to the pool")
+    public void testWrappedDriverReleasesOnQuit() {
+        WebDriverPool pool = new WebDriverPool(this::newFakeDriver, 1, 10, 1000);
+
+        WebDriver driver = PooledDriverSource.wrap(pool, pool.lease());
+        driver.get("https://example.com");
+        driver.quit();
+
+        assertThrows(NoSuchSessionException.class, driver::getTitle);
+        assertEquals(0, drivers.get(0).quits.get());
+        pool.lease();
+        assertEquals(1, pool.getMetrics().getReusedCount());
+    }
+
+    @Test
+    @DisplayName("Test request interceptors are closed when their session is retired")
+    public void testInterceptorsAreClosedWithTheirSession() {
+        WebDriverPool pool = PooledDriverSource.newPool(this::newFakeDriver, 2, 2, 1000);
+        AtomicInteger closes = new AtomicInteger();
+
+        WebDriverPool.Session worn = pool.lease();
+        track(worn, closes);
+        pool.release(worn, false);
+        assertEquals(0, closes.get());
+        pool.release(pool.lease(), false);
+        assertEquals(1, closes.get());
+
+        WebDriverPool.Session crashed = pool.lease();
+        track(crashed, closes);
+        pool.release(crashed, true);
+        assertEquals(2, closes.get());
+
+        WebDriverPool.Session idle = pool.lease();
+        track(idle, closes);
+        pool.release(idle, false);
+        pool.shutdown();
+        assertEquals(3, closes.get());
+        assertEquals(3, drivers.stream().mapToInt(fake -> fake.quits.get()).sum());
+    }
+
+    /**
+     * Attaches an interceptor to the session that counts how often it is closed
+     */
+    private static void track(WebDriverPool.Session session, AtomicInteger closes) {
+        PooledDriverSource.track(session.getDriver(),
+                new RequestInterceptor(NetworkRules.parse("", "", ""), closes::incrementAndGet));
+    }
+
+    private WebDriver newFakeDriver() {
+        FakeDriver fake = new FakeDriver();
+        drivers.add(fake);
+        return fake.driver;
+    }
+
+    /**
+     * Records navigation and quit calls; every other call returns a harmless default
+     */
+    private static class FakeDriver {
+
+        final AtomicInteger quits = new AtomicInteger();
+        final List<String> visited = new ArrayList<>();
+        final WebDriver driver = (WebDriver) proxy(WebDriver.class);
+
+        private Object proxy(Class<?> type) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "quit":
+                        quits.incrementAndGet();
+                        return null;
+                    case "get":
+                        visited.add((String) args[0]);
+                        return null;
+                    case "getWindowHandles":
+                        return Set.of("main");
+                    case "getTitle":
+                    case "toString":
+                        return "Fake";
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        break;
+                }
+                Class<?> returnType = method.getReturnType();
+                if (returnType.isInterface()) {
+                    return proxy(returnType);
+                }
+                return returnType == boolean.class ? Boolean.FALSE : null;
+            };
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.pages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the single round trip visibility wait, using a fake driver that answers the script
+ */
+public class VisibilityWaitTest {
+
+    private final AtomicInteger scriptCalls = new AtomicInteger();
+
+    @Test
+    @DisplayName("Test visible elements take one script call")
+    public void testVisibleElementsTakeOneCall() {
+        WebDriver driver = fakeDriver(List.of());
+
+        VisibilityWait.untilVisible(driver, Duration.ofSeconds(5), ".dashboard-title", ".navigation-menu");
+
+        assertEquals(1, scriptCalls.get());
+    }
+
+    @Test
+    @DisplayName("Test the wait starts again after a page navigation")
+    public void testNavigationIsRetried() {
+        WebDriver driver = fakeDriver(new JavascriptException("document unloaded while waiting for result"), List.of());
+
+        VisibilityWait.untilVisible(driver, Duration.ofSeconds(5), ".dashboard-title");
+
+        assertEquals(2, scriptCalls.get());
+    }
+
+    @Test
+    @DisplayName("Test missing elements are reported after the timeout")
+    public void testMissingElementsTimeOut() {
+        WebDriver driver = fakeDriver(List.of(".navigation-menu"));
+
+        TimeoutException exception = assertThrows(TimeoutException.class, () ->
+                VisibilityWait.untilVisible(driver, Duration.ofMillis(50), ".dashboard-title", ".navigation-menu"));
+
+        assertTrue(exception.getMessage().contains("[.navigation-menu]"));
+    }
+
+    /**
+     * @param answers Script results in order (a list of missing selectors or an exception to throw);
+     *                the last one is repeated
+     */
+    private WebDriver fakeDriver(Object... answers) {
+        Deque<Object> remaining = new ArrayDeque<>(List.of(answers));
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    if (!"executeAsyncScript".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    scriptCalls.incrementAndGet();
+                    Object answer = remaining.size() > 1 ? remaining.poll() : remaining.peek();
+                    if (answer instanceof RuntimeException exception) {
+                        throw exception;
+                    }
+                    return answer;
+                });
+    }
+}
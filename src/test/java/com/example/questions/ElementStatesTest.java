@@ -0,0 +1,103 @@
+package com.example.questions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the batched element state query, using a fake driver that answers the script
+ */
+public class ElementStatesTest {
+
+    private final List<List<?>> scriptCalls = new ArrayList<>();
+
+    @AfterEach
+    public void clearCache() {
+        ElementStates.clearCache();
+    }
+
+    @Test
+    @DisplayName("Test several elements are read in one script call")
+    public void testStatesAreBatched() {
+        WebDriver driver = fakeDriver();
+
+        Map<String, ElementState> states = ElementStates.query(driver, List.of(".dashboard-title", ".missing"));
+
+        assertEquals(1, scriptCalls.size());
+        assertEquals(new ElementState(true, true, true, "text of .dashboard-title"), states.get(".dashboard-title"));
+        assertEquals(ElementState.ABSENT, states.get(".missing"));
+    }
+
+    @Test
+    @DisplayName("Test repeated reads in the same step use the snapshot")
+    public void testSnapshotIsReused() {
+        WebDriver driver = fakeDriver();
+
+        ElementStates.query(driver, List.of(".dashboard-title", ".user-profile"));
+        ElementStates.query(driver, List.of(".user-profile"));
+        ElementStates.query(driver, List.of(".user-profile", ".navigation-menu"));
+
+        assertEquals(2, scriptCalls.size());
+        assertEquals(List.of(".navigation-menu"), scriptCalls.get(1));
+
+        ElementStates.clearCache();
+        ElementStates.query(driver, List.of(".user-profile"));
+        assertEquals(3, scriptCalls.size());
+    }
+
+    @Test
+    @DisplayName("Test reads bypass the snapshot and always ask the page")
+    public void testReadIsNotCached() {
+        WebDriver driver = fakeDriver();
+
+        ElementStates.query(driver, List.of(".dashboard-title"));
+        Map<String, ElementState> states = ElementStates.read(driver, List.of(".dashboard-title", ".dashboard-title"));
+        ElementStates.read(driver, List.of(".dashboard-title"));
+
+        assertEquals(3, scriptCalls.size());
+        assertEquals(List.of(".dashboard-title"), scriptCalls.get(1));
+        assertTrue(states.get(".dashboard-title").visible());
+    }
+
+    @Test
+    @DisplayName("Test a different driver does not see the snapshot")
+    public void testSnapshotIsPerDriver() {
+        ElementStates.query(fakeDriver(), List.of(".dashboard-title"));
+        ElementStates.query(fakeDriver(), List.of(".dashboard-title"));
+
+        assertEquals(2, scriptCalls.size());
+    }
+
+    /**
+     * Fake driver whose page contains every locator except ".missing", all visible and enabled
+     */
+    private WebDriver fakeDriver() {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeScript":
+                            List<?> locators = (List<?>) ((Object[]) args[1])[0];
+                            scriptCalls.add(locators);
+                            List<Object> result = new ArrayList<>();
+                            for (Object locator : locators) {
+                                result.add(".missing".equals(locator) ? null : List.of(true, true, "text of " + locator));
+                            }
+                            return result;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.runners;
+
+import com.example.utils.TestDataUsage.Dependency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Content hashes each scenario passed with in its last green run
+ * One tab-separated line per scenario: {@code featurePath:line  featureHash  file|sheet|row=hash ...}
+ * (row 0 stands for the whole sheet). A scenario is only listed after it passed; a failure
+ * removes it, so it is selected again until it passes.
+ * Location: system property {@code cucumber.changes.index} (default target/test-data-index/scenarios.tsv).
+ */
+public class ChangeIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeIndex.class);
+
+    public static final String INDEX_FILE_PROPERTY = "cucumber.changes.index";
+    public static final String DEFAULT_INDEX_FILE = "target/test-data-index/scenarios.tsv";
+
+    private final Map<String, Entry> entries = new TreeMap<>();
+    private final Set<String> removed = new HashSet<>();
+
+    /**
+     * @param featureHash Hash of the feature file the scenario was read from
+     * @param dependencies Hash of every row or sheet the scenario read
+     */
+    record Entry(String featureHash, Map<Dependency, String> dependencies) {
+    }
+
+    /**
+     * @return Index file configured for this run
+     */
+    public static Path defaultPath() {
+        return Paths.get(System.getProperty(INDEX_FILE_PROPERTY, DEFAULT_INDEX_FILE));
+    }
+
+    /**
+     * Loads an index file; a missing or unreadable file gives an empty index (everything is selected)
+     * @param file Path to the index file
+     * @return Recorded hashes
+     */
+    public static ChangeIndex load(Path file) {
+        ChangeIndex index = new ChangeIndex();
+        if (!Files.isRegularFile(file)) {
+            return index;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length < 2 || line.startsWith("#")) {
+                    continue;
+                }
+                Map<Dependency, String> dependencies = new LinkedHashMap<>();
+                for (int i = 2; i < fields.length; i++) {
+                    int separator = fields[i].lastIndexOf('=');
+                    if (separator < 0) {
+                        throw new IllegalArgumentException("Malformed dependency: " + fields[i]);
+                    }
+                    dependencies.put(Dependency.parse(fields[i].substring(0, separator)),
+                            fields[i].substring(separator + 1));
+                }
+                index.entries.put(fields[0], new Entry(fields[1], Collections.unmodifiableMap(dependencies)));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Ignoring unreadable change index {}: {}", file, e.getMessage());
+            index.entries.clear();
+        }
+        return index;
+    }
+
+    /**
+     * @param key Scenario key (see {@link ScenarioHistory#key(String, int)})
+     * @return Hashes of the last green run, or null if the scenario has not passed yet
+     */
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Records the hashes a scenario passed with
+     * @param key Scenario key
+     * @param featureHash Hash of the feature file
+     * @param dependencies Hash of every row or sheet the scenario read
+     */
+    public synchronized void put(String key, String featureHash, Map<Dependency, String> dependencies) {
+        entries.put(key, new Entry(featureHash, Map.copyOf(dependencies)));
+        removed.remove(key);
+    }
+
+    /**
+     * Forgets a scenario, so it is selected again by the next run
+     * @param key Scenario key
+     */
+    public synchronized void remove(String key) {
+        entries.remove(key);
+        removed.add(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the index, merged into whatever another shard wrote in the meantime
+     * @param file Path to the index file
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        Map<String, Entry> merged = new TreeMap<>(load(file).entries);
+        merged.keySet().removeAll(removed);
+        merged.putAll(entries);
+
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# scenario\tfeature hash\tdependencies");
+            writer.newLine();
+            for (Map.Entry<String, Entry> entry : merged.entrySet()) {
+                writer.write(entry.getKey() + "\t" + entry.getValue().featureHash());
+                // Sorted so that unchanged entries produce identical lines
+                List<Map.Entry<Dependency, String>> dependencies = entry.getValue().dependencies().entrySet().stream()
+                        .sorted(Comparator.comparing((Map.Entry<Dependency, String> dependency) -> dependency.getKey().toString()))
+                        .toList();
+                for (Map.Entry<Dependency, String> dependency : dependencies) {
+                    writer.write("\t" + dependency.getKey() + "=" + dependency.getValue());
+                }
+                writer.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
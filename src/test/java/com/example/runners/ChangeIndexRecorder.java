@@ -0,0 +1,87 @@
+package com.example.runners;
+
+import com.example.utils.TestDataUsage;
+import com.example.utils.TestDataUsage.Dependency;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cucumber plugin that records which test data each passing scenario read
+ * Test case events are delivered to concurrent listeners on the thread running the scenario,
+ * so the {@link TestDataUsage} scope opened on start collects exactly that scenario's reads.
+ * The hashes of the feature file and of every row or sheet read are stored in the
+ * {@link ChangeIndex} when the run finishes; {@link ChangedScenarioFilter} compares against them.
+ */
+public class ChangeIndexRecorder implements ConcurrentEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeIndexRecorder.class);
+
+    private final Path indexFile;
+    private final ChangeIndex index;
+    private final ContentHashes hashes = new ContentHashes();
+
+    public ChangeIndexRecorder() {
+        this(ChangeIndex.defaultPath());
+    }
+
+    ChangeIndexRecorder(Path indexFile) {
+        this.indexFile = indexFile;
+        this.index = ChangeIndex.load(indexFile);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> TestDataUsage.begin());
+        publisher.registerHandlerFor(TestCaseFinished.class, this::handleTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> saveIndex());
+    }
+
+    void handleTestCaseFinished(TestCaseFinished event) {
+        Set<Dependency> dependencies = TestDataUsage.end();
+        TestCase testCase = event.getTestCase();
+        String key = ScenarioHistory.key(testCase.getUri(), testCase.getLocation().getLine());
+        if (event.getResult().getStatus() != Status.PASSED) {
+            index.remove(key);
+            return;
+        }
+
+        String featureHash = hashes.feature(testCase.getUri());
+        Map<Dependency, String> dependencyHashes = new HashMap<>();
+        for (Dependency dependency : dependencies) {
+            String hash = hashes.dependency(dependency);
+            if (hash == null) {
+                featureHash = null;
+                break;
+            }
+            dependencyHashes.put(dependency, hash);
+        }
+        if (featureHash == null) {
+            // Without hashes there is nothing to compare against, so the scenario stays selected
+            index.remove(key);
+            return;
+        }
+        index.put(key, featureHash, dependencyHashes);
+    }
+
+    void saveIndex() {
+        try {
+            index.save(indexFile);
+            LOGGER.info("Recorded test data hashes of {} passing scenario(s) in {}", index.size(), indexFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write change index {}: {}", indexFile, e.getMessage());
+        }
+    }
+}
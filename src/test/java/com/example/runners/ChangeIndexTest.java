@@ -0,0 +1,90 @@
+package com.example.runners;
+
+import com.example.utils.TestDataUsage.Dependency;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Tests for the recorded hashes and the changed-scenario selection
+ */
+public class ChangeIndexTest {
+
+    @Test
+    @DisplayName("Test hashes survive a save and load round trip")
+    public void testSaveAndLoad(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("index/scenarios.tsv");
+        Dependency row = new Dependency("data/login data.xlsx", "LoginData", 2);
+        Dependency sheet = new Dependency("data/users.xlsx", null, 0);
+        ChangeIndex index = new ChangeIndex();
+        index.put("features/login.feature:7", "aaaa", Map.of(row, "1111", sheet, "2222"));
+        index.put("features/login.feature:12", "aaaa", Map.of());
+        index.save(file);
+
+        ChangeIndex loaded = ChangeIndex.load(file);
+
+        assertEquals(2, loaded.size());
+        assertEquals("aaaa", loaded.get("features/login.feature:7").featureHash());
+        assertEquals(Map.of(row, "1111", sheet, "2222"), loaded.get("features/login.feature:7").dependencies());
+    }
+
+    @Test
+    @DisplayName("Test failed scenarios are removed from the saved index")
+    public void testFailureRemovesEntry(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("scenarios.tsv");
+        ChangeIndex firstRun = new ChangeIndex();
+        firstRun.put("a.feature:3", "aaaa", Map.of());
+        firstRun.put("a.feature:9", "aaaa", Map.of());
+        firstRun.save(file);
+
+        ChangeIndex secondRun = ChangeIndex.load(file);
+        secondRun.remove("a.feature:9");
+        secondRun.save(file);
+
+        ChangeIndex loaded = ChangeIndex.load(file);
+        assertNotNull(loaded.get("a.feature:3"));
+        assertNull(loaded.get("a.feature:9"));
+    }
+
+    @Test
+    @DisplayName("Test only scenarios with changed features or data are selected")
+    public void testChangeReason(@TempDir Path tempDir) throws IOException {
+        String filePath = writeWorkbook(tempDir.resolve("users.xlsx"), "admin", "user1");
+        Dependency firstRow = new Dependency(filePath, null, 1);
+        Dependency secondRow = new Dependency(filePath, null, 2);
+        ChangeIndex index = new ChangeIndex();
+        index.put("a.feature:3", "aaaa", Map.of(firstRow, "0000"));
+        index.put("a.feature:9", "aaaa", Map.of(secondRow, new ContentHashes().dependency(secondRow)));
+
+        ChangedScenarioFilter filter = new ChangedScenarioFilter(true, index, new ContentHashes());
+
+        assertEquals("No green run recorded", filter.changeReason(index.get("a.feature:1"), "aaaa"));
+        assertEquals("Feature file changed", filter.changeReason(index.get("a.feature:9"), "bbbb"));
+        assertTrue(filter.changeReason(index.get("a.feature:3"), "aaaa").startsWith("Test data changed"));
+        assertNull(filter.changeReason(index.get("a.feature:9"), "aaaa"));
+    }
+
+    private static String writeWorkbook(Path path, String... usernames) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook();
+             FileOutputStream out = new FileOutputStream(path.toFile())) {
+            Sheet sheet = workbook.createSheet("Users");
+            sheet.createRow(0).createCell(0).setCellValue("username");
+            for (int i = 0; i < usernames.length; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(usernames[i]);
+            }
+            workbook.write(out);
+        }
+        return path.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.runners;
+
+import com.example.utils.TestDataUsage.Dependency;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Selects only the scenarios affected by changes since their last green run
+ * Off by default; enabled with {@code -Dcucumber.select.changed=true}. A scenario is selected when
+ * it has not passed yet (or failed last time), when its feature file changed, or when a row or
+ * sheet it read changed (see {@link ChangeIndexRecorder}). Changes to step definitions or page
+ * code are not tracked; run the full suite for those.
+ * Registered through META-INF/services next to {@link ScenarioShardFilter}; both apply together.
+ */
+public class ChangedScenarioFilter implements PostDiscoveryFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangedScenarioFilter.class);
+
+    public static final String SELECT_CHANGED_PROPERTY = "cucumber.select.changed";
+
+    private final boolean enabled;
+    private final ChangeIndex index;
+    private final ContentHashes hashes;
+
+    public ChangedScenarioFilter() {
+        this(Boolean.getBoolean(SELECT_CHANGED_PROPERTY));
+    }
+
+    private ChangedScenarioFilter(boolean enabled) {
+        this(enabled, enabled ? ChangeIndex.load(ChangeIndex.defaultPath()) : new ChangeIndex(), new ContentHashes());
+        if (enabled) {
+            LOGGER.info("Selecting scenarios changed since their last green run ({} scenario(s) indexed)",
+                    index.size());
+        }
+    }
+
+    ChangedScenarioFilter(boolean enabled, ChangeIndex index, ContentHashes hashes) {
+        this.enabled = enabled;
+        this.index = index;
+        this.hashes = hashes;
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!enabled || !descriptor.isTest() || !ScenarioShardFilter.isCucumber(descriptor)) {
+            return FilterResult.included("Not a Cucumber scenario");
+        }
+        Optional<String> key = ScenarioShardFilter.scenarioKey(descriptor);
+        if (key.isEmpty()) {
+            return FilterResult.included("Scenario without a source location");
+        }
+        String reason = changeReason(index.get(key.get()), featureHash(descriptor.getSource().get()));
+        if (reason == null) {
+            LOGGER.debug("Skipping unchanged scenario {}", key.get());
+            return FilterResult.excluded("Unchanged since last green run");
+        }
+        return FilterResult.included(reason);
+    }
+
+    /**
+     * @param entry Hashes of the last green run, or null
+     * @param featureHash Current hash of the feature file, or null if unknown
+     * @return Why the scenario has to run, or null if nothing it depends on changed
+     */
+    String changeReason(ChangeIndex.Entry entry, String featureHash) {
+        if (entry == null) {
+            return "No green run recorded";
+        }
+        if (featureHash == null || !featureHash.equals(entry.featureHash())) {
+            return "Feature file changed";
+        }
+        for (Map.Entry<Dependency, String> dependency : entry.dependencies().entrySet()) {
+            if (!dependency.getValue().equals(hashes.dependency(dependency.getKey()))) {
+                return "Test data changed: " + dependency.getKey();
+            }
+        }
+        return null;
+    }
+
+    private String featureHash(TestSource source) {
+        if (source instanceof ClasspathResourceSource resource) {
+            return hashes.classpathFeature(resource.getClasspathResourceName());
+        }
+        if (source instanceof FileSource file) {
+            return hashes.fileFeature(file.getFile().toPath());
+        }
+        return null;
+    }
+}
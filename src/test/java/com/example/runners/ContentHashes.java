@@ -0,0 +1,89 @@
+package com.example.runners;
+
+import com.example.utils.ExcelFingerprint;
+import com.example.utils.TestDataUsage.Dependency;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current hashes of feature files and test data, computed at most once per run
+ * Features are hashed as Cucumber loads them (classpath resources come from target/test-classes,
+ * so examples generated by {@code ExcelExamplesExpander} are included). Sheets are read through
+ * the shared {@code ExcelDataCache}, so hashing a sheet also warms it for the scenarios.
+ * A feature or sheet that cannot be read has no hash and always counts as changed.
+ */
+class ContentHashes {
+
+    private final Map<String, Optional<String>> features = new ConcurrentHashMap<>();
+    private final Map<String, Optional<ExcelFingerprint>> sheets = new ConcurrentHashMap<>();
+
+    /**
+     * @param featureUri Feature URI as reported by Cucumber (classpath: or file:)
+     * @return Hash of the feature file, or null if it cannot be read
+     */
+    String feature(URI featureUri) {
+        if ("classpath".equals(featureUri.getScheme())) {
+            return classpathFeature(featureUri.getSchemeSpecificPart());
+        }
+        return fileFeature(Paths.get(featureUri));
+    }
+
+    /**
+     * @param resourceName Classpath resource name of the feature file
+     * @return Hash of the feature file, or null if it cannot be read
+     */
+    String classpathFeature(String resourceName) {
+        String name = resourceName.startsWith("/") ? resourceName.substring(1) : resourceName;
+        return features.computeIfAbsent("classpath:" + name, key -> {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            try (InputStream in = (loader != null ? loader : ContentHashes.class.getClassLoader())
+                    .getResourceAsStream(name)) {
+                return in != null ? Optional.of(ExcelFingerprint.hash(in.readAllBytes())) : Optional.empty();
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * @param file Feature file
+     * @return Hash of the feature file, or null if it cannot be read
+     */
+    String fileFeature(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        return features.computeIfAbsent(path.toString(), key -> {
+            try {
+                return Optional.of(ExcelFingerprint.hash(Files.readAllBytes(path)));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * @param dependency Row or sheet
+     * @return Current hash of the row or sheet, or null if it cannot be read or the row no longer exists
+     */
+    String dependency(Dependency dependency) {
+        ExcelFingerprint fingerprint = sheets.computeIfAbsent(
+                dependency.filePath() + "|" + dependency.sheetName(), key -> {
+                    try {
+                        return Optional.of(ExcelFingerprint.read(dependency.filePath(), dependency.sheetName()));
+                    } catch (IOException | RuntimeException e) {
+                        return Optional.empty();
+                    }
+                }).orElse(null);
+        if (fingerprint == null) {
+            return null;
+        }
+        return dependency.isSheet() ? fingerprint.getSheetHash() : fingerprint.getRowHash(dependency.rowNumber());
+    }
+}
@@ -8,10 +8,22 @@ import org.junit.platform.suite.api.Suite;
 import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
 import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
 
+/**
+ * Cucumber suite runner
+ * Parallel execution is configured in junit-platform.properties; the parallel Serenity
+ * reporter keeps the report identical to a serial run.
+ * Scenario durations are recorded for the shard scheduler (see ScenarioShardFilter), which
+ * splits the suite into balanced shards with -Dcucumber.shard.total/index.
+ * The test data each passing scenario read is hashed as well; -Dcucumber.select.changed=true
+ * runs only the scenarios whose feature file or data changed since then (see ChangedScenarioFilter).
+ * Test data referenced by the features is loaded in the background (see TestDataPrefetcher).
+ * Latency histograms of steps, hooks, scenarios, data loads and WebDriver calls are written to
+ * target/timings as JSON and Prometheus text (see TimingMetricsRecorder).
+ */
 @Suite
 @IncludeEngines("cucumber")
 @SelectClasspathResource("features")
-@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, summary, html:target/cucumber-reports.html")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, summary, html:target/cucumber-reports.html, io.cucumber.core.plugin.SerenityReporterParallel, com.example.runners.ScenarioDurationRecorder, com.example.runners.ChangeIndexRecorder, com.example.runners.TestDataPrefetcher, com.example.runners.TimingMetricsRecorder")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.example.steps")
 public class CucumberTestSuite {
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.runners;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Cucumber plugin that records how long each scenario took
+ * Durations are keyed by feature path and line, together with the scenario tags
+ * (the same names {@code Hooks.setUp} sees through {@code getSourceTagNames}), and merged
+ * into the {@link ScenarioHistory} file when the run finishes. {@link ScenarioShardFilter}
+ * uses them on the next run to balance the shards.
+ */
+public class ScenarioDurationRecorder implements ConcurrentEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioDurationRecorder.class);
+
+    private final Path historyFile;
+    private final ScenarioHistory history;
+
+    public ScenarioDurationRecorder() {
+        this(ScenarioHistory.defaultPath());
+    }
+
+    ScenarioDurationRecorder(Path historyFile) {
+        this.historyFile = historyFile;
+        this.history = ScenarioHistory.load(historyFile);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::handleTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> saveHistory());
+    }
+
+    void handleTestCaseFinished(TestCaseFinished event) {
+        Status status = event.getResult().getStatus();
+        // Skipped, pending or undefined scenarios stop early and would look artificially fast
+        if (status != Status.PASSED && status != Status.FAILED) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        history.record(ScenarioHistory.key(testCase.getUri(), testCase.getLocation().getLine()),
+                event.getResult().getDuration().toMillis(), testCase.getTags());
+    }
+
+    void saveHistory() {
+        try {
+            history.save(historyFile);
+            LOGGER.info("Recorded durations of {} scenario(s) in {}", history.size(), historyFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write scenario history {}: {}", historyFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.runners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Scenario durations recorded by previous runs
+ * One tab-separated line per scenario: {@code featurePath:line  millis  tags}.
+ * Durations are smoothed across runs so a single slow run does not reshuffle the shards.
+ * Location: system property {@code cucumber.shard.history} (default .scenario-history/durations.tsv),
+ * kept outside target/ so it survives {@code mvn clean} and can be cached between CI runs.
+ */
+public class ScenarioHistory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioHistory.class);
+
+    public static final String HISTORY_FILE_PROPERTY = "cucumber.shard.history";
+    public static final String DEFAULT_HISTORY_FILE = ".scenario-history/durations.tsv";
+
+    /** Estimate used when nothing is known about a scenario or any of its tags */
+    static final long DEFAULT_ESTIMATE_MILLIS = 1000;
+
+    private static final double SMOOTHING = 0.5;
+
+    private final Map<String, Entry> entries = new TreeMap<>();
+    private Map<String, Long> tagAverages;
+
+    record Entry(long millis, Set<String> tags) {
+    }
+
+    /**
+     * @return History file configured for this run
+     */
+    public static Path defaultPath() {
+        return Paths.get(System.getProperty(HISTORY_FILE_PROPERTY, DEFAULT_HISTORY_FILE));
+    }
+
+    /**
+     * Loads a history file; a missing or unreadable file gives an empty history
+     * @param file Path to the history file
+     * @return Recorded durations
+     */
+    public static ScenarioHistory load(Path file) {
+        ScenarioHistory history = new ScenarioHistory();
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length < 2 || line.startsWith("#")) {
+                    continue;
+                }
+                Set<String> tags = new LinkedHashSet<>();
+                if (fields.length > 2 && !fields[2].isBlank()) {
+                    tags.addAll(List.of(fields[2].trim().split(" ")));
+                }
+                history.entries.put(fields[0], new Entry(Long.parseLong(fields[1]), tags));
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warn("Ignoring unreadable scenario history {}: {}", file, e.getMessage());
+            history.entries.clear();
+        }
+        return history;
+    }
+
+    /**
+     * Builds the key identifying a scenario (or an outline example row)
+     * @param featurePath Feature path relative to the classpath or file system
+     * @param line Line of the scenario or example row
+     * @return Key in the form featurePath:line
+     */
+    public static String key(String featurePath, int line) {
+        String path = featurePath.replace('\\', '/');
+        return (path.startsWith("/") ? path.substring(1) : path) + ":" + line;
+    }
+
+    /**
+     * @param uri Feature URI as reported by Cucumber (classpath: or file:)
+     * @param line Line of the scenario or example row
+     * @return Key matching {@link #key(String, int)} for the same scenario
+     */
+    public static String key(URI uri, int line) {
+        if ("classpath".equals(uri.getScheme())) {
+            return key(uri.getSchemeSpecificPart(), line);
+        }
+        if ("file".equals(uri.getScheme())) {
+            return key(Paths.get(uri).toAbsolutePath().normalize().toString(), line);
+        }
+        return key(uri.toString(), line);
+    }
+
+    /**
+     * Records the duration of a finished scenario
+     * @param key Scenario key
+     * @param millis Duration of this run
+     * @param tags Scenario tags, with or without the leading '@'
+     */
+    public synchronized void record(String key, long millis, Collection<String> tags) {
+        Entry previous = entries.get(key);
+        long smoothed = previous == null
+                ? millis
+                : Math.round(SMOOTHING * millis + (1 - SMOOTHING) * previous.millis());
+        Set<String> normalizedTags = new LinkedHashSet<>();
+        for (String tag : tags) {
+            normalizedTags.add(normalizeTag(tag));
+        }
+        entries.put(key, new Entry(smoothed, normalizedTags));
+        tagAverages = null;
+    }
+
+    /**
+     * Estimates how long a scenario will take
+     * Unknown scenarios (new or moved) get the highest average of their tags, so a new
+     * {@code @web} scenario is treated like other web scenarios rather than as free.
+     * @param key Scenario key
+     * @param tags Scenario tags, with or without the leading '@'
+     * @return Estimated duration in milliseconds
+     */
+    public synchronized long estimate(String key, Collection<String> tags) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry.millis();
+        }
+        if (entries.isEmpty()) {
+            return DEFAULT_ESTIMATE_MILLIS;
+        }
+        if (tagAverages == null) {
+            tagAverages = computeTagAverages();
+        }
+        long estimate = -1;
+        for (String tag : tags) {
+            estimate = Math.max(estimate, tagAverages.getOrDefault(normalizeTag(tag), -1L));
+        }
+        return estimate >= 0 ? estimate : tagAverages.get("");
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the history, merged into whatever another shard wrote in the meantime
+     * @param file Path to the history file
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        Map<String, Entry> merged = new TreeMap<>(load(file).entries);
+        merged.putAll(entries);
+
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# scenario\tmillis\ttags");
+            writer.newLine();
+            for (Map.Entry<String, Entry> entry : merged.entrySet()) {
+                writer.write(entry.getKey() + "\t" + entry.getValue().millis() + "\t"
+                        + String.join(" ", entry.getValue().tags()));
+                writer.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Map<String, Long> computeTagAverages() {
+        Map<String, long[]> totals = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            accumulate(totals, "", entry.millis());
+            for (String tag : entry.tags()) {
+                accumulate(totals, tag, entry.millis());
+            }
+        }
+        Map<String, Long> averages = new HashMap<>();
+        totals.forEach((tag, total) -> averages.put(tag, total[0] / total[1]));
+        return averages;
+    }
+
+    private static void accumulate(Map<String, long[]> totals, String tag, long millis) {
+        long[] total = totals.computeIfAbsent(tag, t -> new long[2]);
+        total[0] += millis;
+        total[1]++;
+    }
+
+    private static String normalizeTag(String tag) {
+        return tag.startsWith("@") ? tag.substring(1) : tag;
+    }
+}
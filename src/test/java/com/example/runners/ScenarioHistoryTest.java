@@ -0,0 +1,65 @@
+package com.example.runners;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for the recorded scenario durations
+ */
+public class ScenarioHistoryTest {
+
+    @Test
+    @DisplayName("Test durations survive a save and load round trip")
+    public void testSaveAndLoad(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("history/durations.tsv");
+        ScenarioHistory history = new ScenarioHistory();
+        history.record("features/login.feature:7", 4000, Set.of("@web"));
+        history.save(file);
+
+        ScenarioHistory loaded = ScenarioHistory.load(file);
+
+        assertEquals(1, loaded.size());
+        assertEquals(4000, loaded.estimate("features/login.feature:7", List.of()));
+    }
+
+    @Test
+    @DisplayName("Test repeated runs are smoothed")
+    public void testDurationsAreSmoothed() {
+        ScenarioHistory history = new ScenarioHistory();
+        history.record("features/login.feature:7", 4000, List.of());
+        history.record("features/login.feature:7", 2000, List.of());
+
+        assertEquals(3000, history.estimate("features/login.feature:7", List.of()));
+    }
+
+    @Test
+    @DisplayName("Test unknown scenarios are estimated from their tags")
+    public void testUnknownScenarioEstimate() {
+        ScenarioHistory history = new ScenarioHistory();
+        assertEquals(ScenarioHistory.DEFAULT_ESTIMATE_MILLIS, history.estimate("new.feature:3", List.of("web")));
+
+        history.record("features/login.feature:7", 6000, List.of("@web"));
+        history.record("features/login.feature:12", 4000, List.of("@web", "@smoke"));
+        history.record("features/excel-data.feature:5", 200, List.of("@excel"));
+
+        assertEquals(5000, history.estimate("new.feature:3", List.of("web")));
+        assertEquals(200, history.estimate("new.feature:3", List.of("excel")));
+        assertEquals(3400, history.estimate("new.feature:3", List.of("unknown")));
+    }
+
+    @Test
+    @DisplayName("Test Cucumber URIs and JUnit sources map to the same key")
+    public void testKeys() {
+        assertEquals("features/login.feature:7",
+                ScenarioHistory.key(URI.create("classpath:features/login.feature"), 7));
+        assertEquals("features/login.feature:7", ScenarioHistory.key("/features/login.feature", 7));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.runners;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Splits Cucumber scenarios into balanced shards using the durations of previous runs
+ * Registered through META-INF/services, so it applies to {@code CucumberTestSuite} without
+ * changes to the runner. Scenarios are assigned longest-first to the shard with the least
+ * estimated work (LPT scheduling); every shard computes the same plan from the same history.
+ * The filter only includes or excludes scenarios: each shard runs its scenarios in the order the
+ * Cucumber engine discovered them.
+ *
+ * Configuration (system properties):
+ * {@code cucumber.shard.total} (default 1, no sharding),
+ * {@code cucumber.shard.index} (0-based, default 0),
+ * {@code cucumber.shard.history} (see {@link ScenarioHistory}).
+ */
+public class ScenarioShardFilter implements PostDiscoveryFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioShardFilter.class);
+
+    public static final String SHARD_TOTAL_PROPERTY = "cucumber.shard.total";
+    public static final String SHARD_INDEX_PROPERTY = "cucumber.shard.index";
+
+    private static final String CUCUMBER_ENGINE_ID = "cucumber";
+
+    private final ScenarioHistory history;
+    private final int shardTotal;
+    private final int shardIndex;
+
+    private TestDescriptor plannedRoot;
+    private Map<String, Integer> assignments = Map.of();
+
+    public ScenarioShardFilter() {
+        this(ScenarioHistory.load(ScenarioHistory.defaultPath()),
+                Integer.getInteger(SHARD_TOTAL_PROPERTY, 1),
+                Integer.getInteger(SHARD_INDEX_PROPERTY, 0));
+    }
+
+    ScenarioShardFilter(ScenarioHistory history, int shardTotal, int shardIndex) {
+        if (shardTotal < 1 || shardIndex < 0 || shardIndex >= shardTotal) {
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardTotal
+                    + ", expected " + SHARD_INDEX_PROPERTY + " between 0 and " + SHARD_TOTAL_PROPERTY + " - 1");
+        }
+        this.history = history;
+        this.shardTotal = shardTotal;
+        this.shardIndex = shardIndex;
+    }
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        if (shardTotal == 1) {
+            return FilterResult.included("Sharding disabled");
+        }
+        if (!descriptor.isTest() || !isCucumber(descriptor)) {
+            return FilterResult.included("Not a Cucumber scenario");
+        }
+        TestDescriptor root = root(descriptor);
+        if (root != plannedRoot) {
+            plan(root);
+            plannedRoot = root;
+        }
+
+        Integer shard = scenarioKey(descriptor).map(assignments::get).orElse(null);
+        if (shard == null || shard == shardIndex) {
+            return FilterResult.included("Scenario assigned to shard " + shardIndex);
+        }
+        return FilterResult.excluded("Scenario assigned to shard " + shard);
+    }
+
+    /**
+     * Assigns scenarios to shards, longest first, each to the currently least loaded shard
+     * @param estimates Estimated duration per scenario key
+     * @param shardTotal Number of shards
+     * @return Shard index per scenario key
+     */
+    static Map<String, Integer> assignShards(Map<String, Long> estimates, int shardTotal) {
+        List<Map.Entry<String, Long>> longestFirst = new ArrayList<>(estimates.entrySet());
+        longestFirst.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        long[] loads = new long[shardTotal];
+        Map<String, Integer> assignments = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> scenario : longestFirst) {
+            int target = 0;
+            for (int shard = 1; shard < shardTotal; shard++) {
+                if (loads[shard] < loads[target]) {
+                    target = shard;
+                }
+            }
+            loads[target] += scenario.getValue();
+            assignments.put(scenario.getKey(), target);
+        }
+        return assignments;
+    }
+
+    private void plan(TestDescriptor root) {
+        Map<String, Long> estimates = new HashMap<>();
+        estimate(root, estimates);
+        if (estimates.isEmpty()) {
+            assignments = Map.of();
+            return;
+        }
+
+        assignments = assignShards(estimates, shardTotal);
+
+        long shardEstimate = assignments.entrySet().stream()
+                .filter(entry -> entry.getValue() == shardIndex)
+                .mapToLong(entry -> estimates.get(entry.getKey()))
+                .sum();
+        LOGGER.info("Shard {} of {}: {} of {} scenario(s), estimated {} ms (history of {} scenario(s))",
+                shardIndex, shardTotal, assignments.values().stream().filter(shard -> shard == shardIndex).count(),
+                assignments.size(), shardEstimate, history.size());
+    }
+
+    private void estimate(TestDescriptor descriptor, Map<String, Long> estimates) {
+        if (descriptor.isTest() && isCucumber(descriptor)) {
+            Optional<String> key = scenarioKey(descriptor);
+            if (key.isPresent()) {
+                List<String> tags = descriptor.getTags().stream().map(TestTag::getName).collect(Collectors.toList());
+                estimates.put(key.get(), history.estimate(key.get(), tags));
+            }
+        }
+        for (TestDescriptor child : descriptor.getChildren()) {
+            estimate(child, estimates);
+        }
+    }
+
+    static Optional<String> scenarioKey(TestDescriptor descriptor) {
+        Optional<TestSource> source = descriptor.getSource();
+        if (source.isEmpty()) {
+            return Optional.empty();
+        }
+        if (source.get() instanceof ClasspathResourceSource resource && resource.getPosition().isPresent()) {
+            return Optional.of(ScenarioHistory.key(resource.getClasspathResourceName(),
+                    resource.getPosition().map(FilePosition::getLine).get()));
+        }
+        if (source.get() instanceof FileSource file && file.getPosition().isPresent()) {
+            return Optional.of(ScenarioHistory.key(file.getFile().toPath().toAbsolutePath().normalize().toString(),
+                    file.getPosition().map(FilePosition::getLine).get()));
+        }
+        return Optional.empty();
+    }
+
+    static boolean isCucumber(TestDescriptor descriptor) {
+        return descriptor.getUniqueId().getSegments().stream().anyMatch(ScenarioShardFilter::isCucumberEngine);
+    }
+
+    private static boolean isCucumberEngine(UniqueId.Segment segment) {
+        return "engine".equals(segment.getType()) && CUCUMBER_ENGINE_ID.equals(segment.getValue());
+    }
+
+    private static TestDescriptor root(TestDescriptor descriptor) {
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        return root;
+    }
+}
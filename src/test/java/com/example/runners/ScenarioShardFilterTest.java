@@ -0,0 +1,55 @@
+package com.example.runners;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tests for duration-balanced shard assignment (longest scenario placed first)
+ */
+public class ScenarioShardFilterTest {
+
+    @Test
+    @DisplayName("Test scenarios are balanced across shards")
+    public void testBalancedAssignment() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put("a.feature:1", 10L);
+        estimates.put("a.feature:2", 1L);
+        estimates.put("b.feature:1", 7L);
+        estimates.put("b.feature:2", 5L);
+        estimates.put("c.feature:1", 3L);
+
+        Map<String, Integer> assignments = ScenarioShardFilter.assignShards(estimates, 2);
+
+        long[] loads = new long[2];
+        assignments.forEach((key, shard) -> loads[shard] += estimates.get(key));
+        assertEquals(13, loads[0]);
+        assertEquals(13, loads[1]);
+        assertEquals(0, assignments.get("a.feature:1"));
+        assertEquals(1, assignments.get("b.feature:1"));
+    }
+
+    @Test
+    @DisplayName("Test every shard computes the same plan")
+    public void testAssignmentIsDeterministic() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put("b.feature:1", 5L);
+        estimates.put("a.feature:1", 5L);
+        Map<String, Long> reversed = new LinkedHashMap<>();
+        reversed.put("a.feature:1", 5L);
+        reversed.put("b.feature:1", 5L);
+
+        assertEquals(ScenarioShardFilter.assignShards(estimates, 2), ScenarioShardFilter.assignShards(reversed, 2));
+        assertEquals(0, ScenarioShardFilter.assignShards(estimates, 2).get("a.feature:1"));
+    }
+
+    @Test
+    @DisplayName("Test invalid shard settings are rejected")
+    public void testInvalidShard() {
+        assertThrows(IllegalArgumentException.class, () -> new ScenarioShardFilter(new ScenarioHistory(), 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ScenarioShardFilter(new ScenarioHistory(), 0, 0));
+    }
+}
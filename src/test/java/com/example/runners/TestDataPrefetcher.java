@@ -0,0 +1,265 @@
+package com.example.runners;
+
+import com.example.utils.ExcelDataCache;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestSourceRead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.cucumber.junit.platform.engine.Constants.FILTER_NAME_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
+
+/**
+ * Cucumber plugin that loads the test data of upcoming scenarios in the background
+ * Feature files are scanned for the data steps of {@code ExcelDataSteps}
+ * ({@code I have test data in [Excel] file "..." [from sheet "..."]}) and each referenced sheet is
+ * loaded into the shared {@link ExcelDataCache} on a virtual thread. A step that runs while its sheet
+ * is still loading waits for that load instead of parsing the file again, so load time overlaps
+ * with browser start-up and earlier scenarios.
+ *
+ * When the run starts, every feature file under the classpath "features" directories is scanned
+ * up front, in file order. That scan does not know which scenarios were selected, so it is skipped
+ * when the run selects scenarios ({@code cucumber.filter.tags}, {@code cucumber.filter.name},
+ * {@code cucumber.shard.total} above 1 or {@code cucumber.select.changed}); only the features
+ * Cucumber actually runs are then scanned, as each one starts. Either way, a scanned feature
+ * prefetches the data of all its scenarios.
+ *
+ * Configuration (system properties):
+ * {@code cucumber.prefetch.enabled} (default true),
+ * {@code cucumber.prefetch.parallelism} (concurrent loads, default half the cores).
+ * At most as many sheets as the cache holds are prefetched, so prefetching never evicts itself.
+ */
+public class TestDataPrefetcher implements ConcurrentEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestDataPrefetcher.class);
+
+    public static final String PREFETCH_ENABLED_PROPERTY = "cucumber.prefetch.enabled";
+    public static final String PREFETCH_PARALLELISM_PROPERTY = "cucumber.prefetch.parallelism";
+
+    private static final String FEATURES_RESOURCE = "features";
+    private static final String JUNIT_PROPERTIES = "junit-platform.properties";
+
+    /** Literal data references; outline placeholders such as "<file>" are skipped */
+    private static final Pattern DATA_STEP = Pattern.compile(
+            "I have test data in (?:Excel )?file \"([^\"<>]+)\"(?: from sheet \"([^\"<>]+)\")?");
+
+    /**
+     * Sheet referenced by a data step
+     * @param filePath Path to the data file
+     * @param sheetName Name of the sheet (null for the first sheet)
+     */
+    record Reference(String filePath, String sheetName) {
+    }
+
+    private final boolean enabled;
+    private final boolean scanSuite;
+    private final ExcelDataCache cache;
+    private final Semaphore permits;
+    private final Set<Reference> submitted = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final List<CompletableFuture<Void>> loads = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private ExecutorService executor;
+
+    public TestDataPrefetcher() {
+        this(!"false".equalsIgnoreCase(System.getProperty(PREFETCH_ENABLED_PROPERTY)),
+                !selectsScenarios(TestDataPrefetcher::configuration),
+                ExcelDataCache.getInstance(),
+                Integer.getInteger(PREFETCH_PARALLELISM_PROPERTY,
+                        Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+    }
+
+    TestDataPrefetcher(boolean enabled, boolean scanSuite, ExcelDataCache cache, int parallelism) {
+        this.enabled = enabled;
+        this.scanSuite = scanSuite;
+        this.cache = cache;
+        this.permits = new Semaphore(Math.max(1, parallelism));
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!enabled) {
+            return;
+        }
+        if (scanSuite) {
+            publisher.registerHandlerFor(TestRunStarted.class, event -> prefetchSuite());
+        }
+        publisher.registerHandlerFor(TestSourceRead.class, event -> prefetch(event.getSource()));
+        publisher.registerHandlerFor(TestRunFinished.class, event -> shutdown());
+    }
+
+    /**
+     * @param configuration Value of a configuration parameter by name (null if not set)
+     * @return true if the run selects a subset of the suite's scenarios
+     */
+    static boolean selectsScenarios(Function<String, String> configuration) {
+        String shards = configuration.apply(ScenarioShardFilter.SHARD_TOTAL_PROPERTY);
+        return isSet(configuration.apply(FILTER_TAGS_PROPERTY_NAME))
+                || isSet(configuration.apply(FILTER_NAME_PROPERTY_NAME))
+                || (isSet(shards) && !"1".equals(shards.trim()))
+                || "true".equalsIgnoreCase(configuration.apply(ChangedScenarioFilter.SELECT_CHANGED_PROPERTY));
+    }
+
+    /**
+     * Finds the data references of a feature, in document order
+     * @param featureSource Feature file text
+     * @return Distinct references
+     */
+    static Set<Reference> references(String featureSource) {
+        Set<Reference> references = new LinkedHashSet<>();
+        for (String line : featureSource.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("#")) {
+                continue;
+            }
+            Matcher matcher = DATA_STEP.matcher(trimmed);
+            if (matcher.find()) {
+                references.add(new Reference(matcher.group(1), matcher.group(2)));
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Starts loading every sheet referenced by a feature that is not loaded or loading yet
+     * @param featureSource Feature file text
+     */
+    void prefetch(String featureSource) {
+        for (Reference reference : references(featureSource)) {
+            if (submitted.size() >= cache.getMaxEntries() || !submitted.add(reference)) {
+                continue;
+            }
+            loads.add(CompletableFuture.runAsync(() -> load(reference), executor()));
+        }
+    }
+
+    /**
+     * @return Future completing when all prefetches submitted so far have finished
+     */
+    CompletableFuture<Void> whenIdle() {
+        synchronized (loads) {
+            return CompletableFuture.allOf(loads.toArray(new CompletableFuture[0]));
+        }
+    }
+
+    private void load(Reference reference) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            cache.getTable(reference.filePath(), reference.sheetName());
+            loaded.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            // The data step reports the problem when the scenario runs
+            failed.incrementAndGet();
+            LOGGER.debug("Could not prefetch {}: {}", reference, e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void prefetchSuite() {
+        for (Path feature : suiteFeatures()) {
+            try {
+                prefetch(Files.readString(feature, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                LOGGER.debug("Could not scan {} for test data: {}", feature, e.getMessage());
+            }
+        }
+        LOGGER.info("Prefetching {} test data sheet(s)", submitted.size());
+    }
+
+    /**
+     * @return Every feature file of the classpath "features" directories, whatever the run selects
+     */
+    private static List<Path> suiteFeatures() {
+        List<Path> features = new ArrayList<>();
+        try {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            for (URL url : Collections.list((loader != null ? loader : TestDataPrefetcher.class.getClassLoader())
+                    .getResources(FEATURES_RESOURCE))) {
+                if (!"file".equals(url.getProtocol())) {
+                    continue;
+                }
+                try (Stream<Path> files = Files.walk(Paths.get(url.toURI()))) {
+                    features.addAll(files.filter(path -> path.toString().endsWith(".feature"))
+                            .sorted()
+                            .collect(Collectors.toList()));
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            LOGGER.debug("Could not list feature files: {}", e.getMessage());
+        }
+        return features;
+    }
+
+    /**
+     * @param name Configuration parameter
+     * @return System property, else the value in junit-platform.properties (like the JUnit launcher)
+     */
+    private static String configuration(String name) {
+        String value = System.getProperty(name);
+        if (value != null) {
+            return value;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = TestDataPrefetcher.class.getClassLoader().getResourceAsStream(JUNIT_PROPERTIES)) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not read {}: {}", JUNIT_PROPERTIES, e.getMessage());
+        }
+        return properties.getProperty(name);
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("test-data-prefetch-", 0).factory());
+        }
+        return executor;
+    }
+
+    private synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            LOGGER.info("Prefetched {} test data sheet(s), {} could not be loaded; {}", loaded.get(), failed.get(), cache);
+        }
+    }
+}
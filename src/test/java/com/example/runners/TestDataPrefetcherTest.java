@@ -0,0 +1,68 @@
+package com.example.runners;
+
+import com.example.utils.ExcelDataCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for background loading of referenced test data
+ */
+public class TestDataPrefetcherTest {
+
+    @Test
+    @DisplayName("Test data references are found in feature text")
+    public void testReferences() {
+        String feature = String.join("\n",
+                "Feature: Data",
+                "  Background:",
+                "    Given I have test data in Excel file \"data/users.xlsx\"",
+                "  Scenario: Sheet",
+                "    Given I have test data in Excel file \"data/users.xlsx\" from sheet \"Admins\"",
+                "    And I have test data in file \"data/users.csv\"",
+                "    # Given I have test data in file \"data/commented.csv\"",
+                "  Scenario Outline: Placeholder",
+                "    Given I have test data in file \"<file>\"",
+                "  Scenario: Filtered",
+                "    Given I have test data in Excel file \"data/users.xlsx\" where \"role\" is \"admin\"");
+
+        assertEquals(List.of(
+                        new TestDataPrefetcher.Reference("data/users.xlsx", null),
+                        new TestDataPrefetcher.Reference("data/users.xlsx", "Admins"),
+                        new TestDataPrefetcher.Reference("data/users.csv", null)),
+                List.copyOf(TestDataPrefetcher.references(feature)));
+    }
+
+    @Test
+    @DisplayName("Test referenced sheets are loaded into the shared cache")
+    public void testPrefetch(@TempDir Path tempDir) throws Exception {
+        Path csv = tempDir.resolve("prefetch.csv");
+        Files.writeString(csv, "username,role\nadmin,admin\n");
+        ExcelDataCache cache = ExcelDataCache.getInstance();
+        TestDataPrefetcher prefetcher = new TestDataPrefetcher(true, true, cache, 2);
+
+        prefetcher.prefetch("Given I have test data in file \"" + csv + "\"\n"
+                + "Given I have test data in file \"" + tempDir.resolve("missing.csv") + "\"");
+        prefetcher.whenIdle().get(10, TimeUnit.SECONDS);
+
+        assertNotNull(cache.peekTable(csv.toString(), null));
+        assertEquals("admin", cache.peekTable(csv.toString(), null).getValue(1, "username"));
+    }
+
+    @Test
+    @DisplayName("Test the up-front scan is skipped when the run selects scenarios")
+    public void testSelectsScenarios() {
+        assertFalse(TestDataPrefetcher.selectsScenarios(Map.<String, String>of()::get));
+        assertFalse(TestDataPrefetcher.selectsScenarios(Map.of("cucumber.shard.total", "1", "cucumber.select.changed", "false")::get));
+        assertTrue(TestDataPrefetcher.selectsScenarios(Map.of("cucumber.filter.tags", "@smoke")::get));
+        assertTrue(TestDataPrefetcher.selectsScenarios(Map.of("cucumber.shard.total", "4")::get));
+        assertTrue(TestDataPrefetcher.selectsScenarios(Map.of("cucumber.select.changed", "true")::get));
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.runners;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms of the operations of one test run, keyed by category and name
+ * Durations are measured in nanoseconds and kept in HDR histograms at microsecond resolution
+ * with two significant digits, so each histogram stays a few KB however many values it holds.
+ * Recording is safe from any thread and does not block.
+ *
+ * Export formats, slowest operations (by total time) first:
+ * {@code timings.json} with count, total, mean, percentiles and the compressed histogram
+ * (base64, so histograms from many runs can be merged with HdrHistogram), and
+ * {@code timings.prom} in the Prometheus text format (a summary per operation, in seconds).
+ */
+public class TimingMetrics {
+
+    public static final String JSON_FILE = "timings.json";
+    public static final String PROMETHEUS_FILE = "timings.prom";
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+    private static final String METRIC = "cucumber_operation_duration_seconds";
+
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+
+    record Key(String category, String name) {
+    }
+
+    /**
+     * Statistics of one operation, in microseconds
+     */
+    record Summary(String category, String name, long count, long totalMicros, double meanMicros,
+                   long maxMicros, long[] quantileMicros, String histogram) {
+    }
+
+    private static final class Timer {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        final LongAdder totalNanos = new LongAdder();
+    }
+
+    /**
+     * Records one duration
+     * @param category Kind of operation (e.g. "step", "hook", "scenario", "data", "webdriver")
+     * @param name Operation within the category
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(String category, String name, long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        Timer timer = timers.computeIfAbsent(new Key(category, name != null ? name : ""), key -> new Timer());
+        timer.histogram.recordValue(nanos / 1000);
+        timer.totalNanos.add(nanos);
+    }
+
+    /**
+     * @return Number of distinct operations recorded
+     */
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * @return Statistics of every operation, largest total time first
+     */
+    List<Summary> summaries() {
+        List<Summary> summaries = new ArrayList<>();
+        timers.forEach((key, timer) -> {
+            ConcurrentHistogram histogram = timer.histogram.copy();
+            long[] quantiles = new long[QUANTILES.length];
+            for (int i = 0; i < QUANTILES.length; i++) {
+                quantiles[i] = histogram.getValueAtPercentile(QUANTILES[i] * 100);
+            }
+            summaries.add(new Summary(key.category(), key.name(), histogram.getTotalCount(),
+                    timer.totalNanos.sum() / 1000, histogram.getMean(), histogram.getMaxValue(), quantiles,
+                    encode(histogram)));
+        });
+        summaries.sort(Comparator.comparingLong(Summary::totalMicros).reversed()
+                .thenComparing(Summary::category).thenComparing(Summary::name));
+        return summaries;
+    }
+
+    /**
+     * Writes the JSON and Prometheus files
+     * @param directory Output directory, created if missing
+     * @throws IOException if a file cannot be written
+     */
+    public void export(Path directory) throws IOException {
+        List<Summary> summaries = summaries();
+        Files.createDirectories(directory);
+        write(directory.resolve(JSON_FILE), writer -> writeJson(writer, summaries));
+        write(directory.resolve(PROMETHEUS_FILE), writer -> writePrometheus(writer, summaries));
+    }
+
+    private static void writeJson(BufferedWriter writer, List<Summary> summaries) throws IOException {
+        writer.write("{\"unit\":\"microseconds\",\"quantiles\":[0.5,0.9,0.95,0.99],\"operations\":[");
+        for (int i = 0; i < summaries.size(); i++) {
+            Summary summary = summaries.get(i);
+            writer.newLine();
+            writer.write("  {\"category\":" + jsonString(summary.category())
+                    + ",\"name\":" + jsonString(summary.name())
+                    + ",\"count\":" + summary.count()
+                    + ",\"total\":" + summary.totalMicros()
+                    + ",\"mean\":" + String.format(Locale.ROOT, "%.1f", summary.meanMicros())
+                    + ",\"p50\":" + summary.quantileMicros()[0]
+                    + ",\"p90\":" + summary.quantileMicros()[1]
+                    + ",\"p95\":" + summary.quantileMicros()[2]
+                    + ",\"p99\":" + summary.quantileMicros()[3]
+                    + ",\"max\":" + summary.maxMicros()
+                    + ",\"histogram\":" + jsonString(summary.histogram()) + "}");
+            if (i < summaries.size() - 1) {
+                writer.write(",");
+            }
+        }
+        writer.newLine();
+        writer.write("]}");
+        writer.newLine();
+    }
+
+    private static void writePrometheus(BufferedWriter writer, List<Summary> summaries) throws IOException {
+        writer.write("# HELP " + METRIC + " Duration of test steps, hooks, scenarios, data loads and WebDriver calls");
+        writer.newLine();
+        writer.write("# TYPE " + METRIC + " summary");
+        writer.newLine();
+        for (Summary summary : summaries) {
+            String labels = "category=\"" + labelValue(summary.category()) + "\",name=\"" + labelValue(summary.name()) + "\"";
+            for (int i = 0; i < QUANTILES.length; i++) {
+                writer.write(METRIC + "{" + labels + ",quantile=\"" + QUANTILES[i] + "\"} "
+                        + seconds(summary.quantileMicros()[i]));
+                writer.newLine();
+            }
+            writer.write(METRIC + "_sum{" + labels + "} " + seconds(summary.totalMicros()));
+            writer.newLine();
+            writer.write(METRIC + "_count{" + labels + "} " + summary.count());
+            writer.newLine();
+        }
+    }
+
+    private static void write(Path file, Content content) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            content.write(writer);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String encode(ConcurrentHistogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static String labelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char current = value.charAt(i);
+            switch (current) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (current < 0x20) {
+                        json.append(String.format("\\u%04x", (int) current));
+                    } else {
+                        json.append(current);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    @FunctionalInterface
+    private interface Content {
+        void write(BufferedWriter writer) throws IOException;
+    }
+}
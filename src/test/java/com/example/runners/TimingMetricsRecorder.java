@@ -0,0 +1,120 @@
+package com.example.runners;
+
+import com.example.utils.Timings;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Cucumber plugin that records latency histograms of the test run (see {@link TimingMetrics})
+ * Steps are keyed by their step definition pattern, so every use of a step lands in one histogram;
+ * hooks by type and method, scenarios by name. While the run is active it also receives the
+ * durations reported to {@link Timings}: test data loads and WebDriver calls of pooled sessions.
+ * The histograms are written to {@code target/timings} when the run finishes.
+ *
+ * Configuration (system properties):
+ * {@code cucumber.timings.enabled} (default true),
+ * {@code cucumber.timings.dir} (default target/timings).
+ */
+public class TimingMetricsRecorder implements ConcurrentEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingMetricsRecorder.class);
+
+    public static final String TIMINGS_ENABLED_PROPERTY = "cucumber.timings.enabled";
+    public static final String TIMINGS_DIR_PROPERTY = "cucumber.timings.dir";
+    public static final String DEFAULT_TIMINGS_DIR = "target/timings";
+
+    private static final int SLOWEST_LOGGED = 5;
+
+    private final boolean enabled;
+    private final Path outputDir;
+    private final TimingMetrics metrics = new TimingMetrics();
+    private final Timings.Recorder recorder = metrics::record;
+
+    public TimingMetricsRecorder() {
+        this(!"false".equalsIgnoreCase(System.getProperty(TIMINGS_ENABLED_PROPERTY)),
+                Paths.get(System.getProperty(TIMINGS_DIR_PROPERTY, DEFAULT_TIMINGS_DIR)));
+    }
+
+    TimingMetricsRecorder(boolean enabled, Path outputDir) {
+        this.enabled = enabled;
+        this.outputDir = outputDir;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!enabled) {
+            return;
+        }
+        publisher.registerHandlerFor(TestRunStarted.class, event -> Timings.install(recorder));
+        publisher.registerHandlerFor(TestStepFinished.class, this::handleTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::handleTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> finish());
+    }
+
+    void handleTestStepFinished(TestStepFinished event) {
+        Result result = event.getResult();
+        if (!isTimed(result)) {
+            return;
+        }
+        TestStep step = event.getTestStep();
+        if (step instanceof PickleStepTestStep pickleStep) {
+            metrics.record("step", pickleStep.getPattern(), result.getDuration().toNanos());
+        } else if (step instanceof HookTestStep hook) {
+            metrics.record("hook", hook.getHookType().name().toLowerCase(Locale.ROOT) + " " + hook.getCodeLocation(),
+                    result.getDuration().toNanos());
+        }
+    }
+
+    void handleTestCaseFinished(TestCaseFinished event) {
+        if (isTimed(event.getResult())) {
+            metrics.record("scenario", event.getTestCase().getName(), event.getResult().getDuration().toNanos());
+        }
+    }
+
+    TimingMetrics getMetrics() {
+        return metrics;
+    }
+
+    void finish() {
+        Timings.uninstall(recorder);
+        try {
+            metrics.export(outputDir);
+            LOGGER.info("Recorded timings of {} operation(s) in {}", metrics.size(), outputDir);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write timings to {}: {}", outputDir, e.getMessage());
+            return;
+        }
+        List<String> slowest = metrics.summaries().stream()
+                .filter(summary -> "step".equals(summary.category()))
+                .limit(SLOWEST_LOGGED)
+                .map(summary -> summary.name() + " (" + summary.count() + "x, p95 "
+                        + summary.quantileMicros()[2] / 1000 + " ms)")
+                .collect(Collectors.toList());
+        if (!slowest.isEmpty()) {
+            LOGGER.info("Steps with the most total time: {}", slowest);
+        }
+    }
+
+    private static boolean isTimed(Result result) {
+        // Skipped, pending or undefined steps do not run and would only add zeros
+        return result.getStatus() == Status.PASSED || result.getStatus() == Status.FAILED;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.runners;
+
+import com.example.utils.Timings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for the timing histograms and their export
+ */
+public class TimingMetricsTest {
+
+    @Test
+    @DisplayName("Test durations are aggregated per operation, largest total first")
+    public void testSummaries() {
+        TimingMetrics metrics = new TimingMetrics();
+        metrics.record("step", "the user is on the login page", 2_000_000);
+        metrics.record("step", "the user is on the login page", 4_000_000);
+        metrics.record("webdriver", "findElement", 500_000);
+
+        List<TimingMetrics.Summary> summaries = metrics.summaries();
+
+        assertEquals(2, summaries.size());
+        TimingMetrics.Summary step = summaries.get(0);
+        assertEquals("the user is on the login page", step.name());
+        assertEquals(2, step.count());
+        assertEquals(6000, step.totalMicros());
+        assertEquals(4000, step.maxMicros(), 40);
+        assertEquals("findElement", summaries.get(1).name());
+    }
+
+    @Test
+    @DisplayName("Test JSON and Prometheus files are written")
+    public void testExport(@TempDir Path tempDir) throws IOException {
+        TimingMetrics metrics = new TimingMetrics();
+        metrics.record("step", "I have test data in Excel file {string}", 1_500_000);
+        metrics.record("data", "login-data.xlsx|\"Users\"", 3_000_000);
+
+        metrics.export(tempDir.resolve("timings"));
+
+        String json = Files.readString(tempDir.resolve("timings/" + TimingMetrics.JSON_FILE), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"name\":\"I have test data in Excel file {string}\""));
+        assertTrue(json.contains("\"name\":\"login-data.xlsx|\\\"Users\\\"\""));
+        assertTrue(json.contains("\"histogram\":\""));
+
+        List<String> prometheus = Files.readAllLines(tempDir.resolve("timings/" + TimingMetrics.PROMETHEUS_FILE));
+        assertTrue(prometheus.contains("# TYPE cucumber_operation_duration_seconds summary"));
+        assertTrue(prometheus.contains("cucumber_operation_duration_seconds_count{category=\"step\","
+                + "name=\"I have test data in Excel file {string}\"} 1"));
+        assertTrue(prometheus.contains("cucumber_operation_duration_seconds_sum{category=\"data\","
+                + "name=\"login-data.xlsx|\\\"Users\\\"\"} 0.003000"));
+    }
+
+    @Test
+    @DisplayName("Test instrumented operations are recorded only while the recorder is installed")
+    public void testTimingsHook(@TempDir Path tempDir) {
+        TimingMetricsRecorder recorder = new TimingMetricsRecorder(true, tempDir);
+        Timings.Recorder sink = recorder.getMetrics()::record;
+
+        Timings.record("webdriver", "get", System.nanoTime());
+        assertEquals(0, recorder.getMetrics().size());
+
+        Timings.install(sink);
+        try {
+            assertTrue(Timings.isEnabled());
+            Timings.record("webdriver", "get", System.nanoTime());
+        } finally {
+            Timings.uninstall(sink);
+        }
+
+        assertFalse(Timings.isEnabled());
+        assertEquals(1, recorder.getMetrics().size());
+    }
+}
@@ -1,96 +1,108 @@
 package com.example.steps;
 
+import com.example.utils.ExcelDataSource;
 import com.example.utils.ExcelUtils;
+import com.example.utils.TestDataSource;
+import com.example.utils.TestDataUsage;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import io.cucumber.java.en.Then;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Step definitions demonstrating how to use ExcelUtils in Cucumber tests
+ * Cucumber creates a new instance per scenario, so the fields below are scenario-scoped
+ * and safe under parallel execution; the cached tables they point to are read-only.
+ * Test data is bound lazily: the Given steps only create a data source handle, and the sheet
+ * is read when a row or value is first used (rows and values are then memoized per scenario).
+ * Any {@link TestDataSource} format works in place of an Excel file (e.g. .csv or .jsonl).
+ * Row dumps are logged at DEBUG and limited to {@link ExcelUtils#getPrintMaxRows()} rows.
  */
 public class ExcelDataSteps {
 
-    private Map<Integer, Map<String, String>> testData;
-    private List<Map<String, String>> testDataList;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExcelDataSteps.class);
+
+    private ExcelDataSource testData;
     private String currentExcelFile;
 
     @Given("I have test data in Excel file {string}")
     public void i_have_test_data_in_excel_file(String excelFilePath) {
-        this.currentExcelFile = excelFilePath;
-        try {
-            // Read all data from Excel file
-            this.testData = ExcelUtils.readExcelToMapOfMaps(excelFilePath);
-            this.testDataList = ExcelUtils.readExcelToListOfMaps(excelFilePath, null);
-            
-            System.out.println("Loaded " + testData.size() + " rows of test data from: " + excelFilePath);
-            
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read Excel file: " + excelFilePath, e);
-        }
+        this.currentExcelFile = requireExcelFile(excelFilePath);
+        // Bound lazily: nothing is read until a row or value is used
+        this.testData = ExcelDataSource.of(excelFilePath, null);
+        
+        LOGGER.info("Using test data from: {}", excelFilePath);
+    }
+
+    @Given("I have test data in file {string}")
+    public void i_have_test_data_in_file(String filePath) {
+        i_have_test_data_in_excel_file(filePath);
     }
 
     @Given("I have test data in Excel file {string} from sheet {string}")
     public void i_have_test_data_in_excel_file_from_sheet(String excelFilePath, String sheetName) {
-        this.currentExcelFile = excelFilePath;
-        try {
-            // Read data from specific sheet
-            this.testData = ExcelUtils.readExcelToMapOfMaps(excelFilePath, sheetName);
-            this.testDataList = ExcelUtils.readExcelToListOfMaps(excelFilePath, sheetName);
-            
-            System.out.println("Loaded " + testData.size() + " rows of test data from sheet '" + 
-                             sheetName + "' in file: " + excelFilePath);
-            
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read Excel file: " + excelFilePath + ", sheet: " + sheetName, e);
-        }
+        this.currentExcelFile = requireExcelFile(excelFilePath);
+        this.testData = ExcelDataSource.of(excelFilePath, sheetName);
+        
+        LOGGER.info("Using test data from sheet '{}' in file: {}", sheetName, excelFilePath);
+    }
+
+    @Given("I have test data in Excel file {string} where {string} is {string}")
+    public void i_have_test_data_in_excel_file_where(String excelFilePath, String columnName, String value) {
+        this.currentExcelFile = requireExcelFile(excelFilePath);
+        // Non-matching rows are skipped while the sheet is scanned
+        this.testData = ExcelDataSource.of(excelFilePath, null).where(columnName, value);
+        
+        LOGGER.info("Using test data from: {}", testData);
     }
 
     @When("I retrieve data from row {int}")
     public void i_retrieve_data_from_row(int rowNumber) {
-        Map<String, String> rowData = testData.get(rowNumber);
+        Map<String, String> rowData = testData.getRow(rowNumber);
         
         if (rowData != null) {
-            System.out.println("Row " + rowNumber + " data:");
-            rowData.forEach((column, value) -> 
-                System.out.println("  " + column + ": " + value));
+            LOGGER.debug("Row {} data: {}", rowNumber, rowData);
         } else {
-            System.out.println("No data found for row: " + rowNumber);
+            LOGGER.warn("No data found for row: {}", rowNumber);
         }
     }
 
     @When("I retrieve value from row {int} and column {string}")
     public void i_retrieve_value_from_row_and_column(int rowNumber, String columnName) {
-        Map<String, String> rowData = testData.get(rowNumber);
+        String cellValue = testData.getValue(rowNumber, columnName);
         
-        if (rowData != null && rowData.containsKey(columnName)) {
-            String cellValue = rowData.get(columnName);
-            System.out.println("Value at row " + rowNumber + ", column '" + columnName + "': " + cellValue);
+        if (cellValue != null) {
+            LOGGER.debug("Value at row {}, column '{}': {}", rowNumber, columnName, cellValue);
         } else {
-            System.out.println("No data found for row " + rowNumber + ", column '" + columnName + "'");
+            LOGGER.warn("No data found for row {}, column '{}'", rowNumber, columnName);
         }
     }
 
     @When("I iterate through all test data")
     public void i_iterate_through_all_test_data() {
-        System.out.println("Iterating through all test data:");
+        int maxRows = ExcelUtils.getPrintMaxRows();
+        int[] visited = {0};
         
-        // Using Map of Maps approach
+        // Using Map of Maps approach; only the first rows are logged
         testData.forEach((rowNumber, rowData) -> {
-            System.out.println("Row " + rowNumber + ":");
-            rowData.forEach((column, value) -> 
-                System.out.println("  " + column + ": " + value));
+            if (visited[0]++ < maxRows) {
+                LOGGER.debug("Row {}: {}", rowNumber, rowData);
+            }
         });
+        if (visited[0] > maxRows) {
+            LOGGER.debug("... {} more row(s) not shown", visited[0] - maxRows);
+        }
         
         // Alternative: Using List of Maps approach
-        System.out.println("\nAlternative iteration using List:");
-        for (int i = 0; i < testDataList.size(); i++) {
-            Map<String, String> row = testDataList.get(i);
-            System.out.println("Data row " + (i + 1) + ": " + row);
-        }
+        List<Map<String, String>> testDataList = testData.rows();
+        LOGGER.info("Iterated through {} row(s) of test data ({} in the row list)", visited[0], testDataList.size());
     }
 
     @Then("I should be able to access the Excel data")
@@ -99,17 +111,17 @@ public class ExcelDataSteps {
             throw new AssertionError("No test data was loaded from Excel file");
         }
         
-        System.out.println("Successfully accessed Excel data with " + testData.size() + " rows");
+        LOGGER.info("Successfully accessed Excel data with {} rows", testData.size());
     }
 
     @Then("I should be able to get sheet information")
     public void i_should_be_able_to_get_sheet_information() {
+        TestDataUsage.recordSheet(currentExcelFile, null);
         try {
-            List<String> sheetNames = ExcelUtils.getSheetNames(currentExcelFile);
-            int rowCount = ExcelUtils.getRowCount(currentExcelFile, null);
+            // One lookup, so Excel files are opened only once
+            TestDataSource.SheetInfo info = TestDataSource.forFile(currentExcelFile).getSheetInfo(currentExcelFile, null);
             
-            System.out.println("Sheet names: " + sheetNames);
-            System.out.println("Row count in first sheet: " + rowCount);
+            LOGGER.info("Sheet names: {}, row count in first sheet: {}", info.sheetNames(), info.rowCount());
             
         } catch (IOException e) {
             throw new RuntimeException("Failed to get sheet information", e);
@@ -124,7 +136,7 @@ public class ExcelDataSteps {
      * @return Map of column names to values
      */
     public Map<String, String> getTestDataForRow(int rowNumber) {
-        return testData != null ? testData.get(rowNumber) : null;
+        return testData != null ? testData.getRow(rowNumber) : null;
     }
 
     /**
@@ -134,8 +146,7 @@ public class ExcelDataSteps {
      * @return Cell value as String
      */
     public String getTestDataValue(int rowNumber, String columnName) {
-        Map<String, String> rowData = getTestDataForRow(rowNumber);
-        return rowData != null ? rowData.get(columnName) : null;
+        return testData != null ? testData.getValue(rowNumber, columnName) : null;
     }
 
     /**
@@ -143,6 +154,16 @@ public class ExcelDataSteps {
      * @return List of Maps representing all rows
      */
     public List<Map<String, String>> getAllTestData() {
-        return testDataList;
+        return testData != null ? testData.rows() : null;
+    }
+
+    private static String requireExcelFile(String excelFilePath) {
+        // Fail in the Given step rather than at first use of the data
+        if (!Files.isRegularFile(Path.of(excelFilePath))) {
+            throw new RuntimeException("Failed to read Excel file: " + excelFilePath + " (file not found)");
+        }
+        // Rejects unsupported formats
+        TestDataSource.forFile(excelFilePath);
+        return excelFilePath;
     }
 }
\ No newline at end of file
@@ -1,23 +1,33 @@
 package com.example.steps;
 
+import com.example.abilities.UseHttpApi;
+import com.example.questions.ElementStates;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import net.serenitybdd.core.Serenity;
 import net.serenitybdd.core.webdriver.driverservice.DriverServiceType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 /**
  * Cucumber hooks for setup and teardown operations
  * Manages test lifecycle and Serenity BDD integration
+ * Hooks keep no shared state, so they are safe when scenarios run in parallel;
+ * the scenario name is put in the logging context of the thread running it.
+ * Element states read by page objects and questions are reset before every step.
  */
 public class Hooks {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Hooks.class);
 
+    private static final String SCENARIO_MDC_KEY = "scenario";
+
     @Before
     public void setUp(Scenario scenario) {
+        MDC.put(SCENARIO_MDC_KEY, scenario.getName());
         LOGGER.info("Starting scenario: {}", scenario.getName());
         LOGGER.info("Scenario tags: {}", scenario.getSourceTagNames());
         
@@ -56,9 +66,18 @@ public class Hooks {
             LOGGER.info("Cleaning up resources for scenario: {}", scenario.getName());
         } catch (Exception e) {
             LOGGER.warn("Error during cleanup: {}", e.getMessage());
+        } finally {
+            ElementStates.clearCache();
+            MDC.remove(SCENARIO_MDC_KEY);
         }
     }
 
+    @BeforeStep
+    public void clearElementStates() {
+        // Element states are cached for one step at a time
+        ElementStates.clearCache();
+    }
+
     @Before("@database")
     public void setUpDatabase() {
         LOGGER.info("Setting up database for scenario");
@@ -73,13 +92,14 @@ public class Hooks {
 
     @Before("@api")
     public void setUpApiClient() {
-        LOGGER.info("Setting up API client");
-        // API client setup
+        // Connections come from the client shared by all scenarios; only headers are per scenario
+        UseHttpApi api = UseHttpApi.startScenario();
+        LOGGER.info("Setting up API client for {}", api.getBaseUri());
     }
 
     @After("@api")
     public void cleanUpApiClient() {
-        LOGGER.info("Cleaning up API client");
-        // API client cleanup
+        UseHttpApi api = UseHttpApi.endScenario();
+        LOGGER.info("Cleaning up API client after {} request(s)", api != null ? api.getRequestCount() : 0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests for the shared parsed-sheet cache
+ */
+public class ExcelDataCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test repeated reads are served from the cache")
+    public void testRepeatedReadsHitCache() throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("cached.xlsx"));
+        ExcelDataCache cache = new ExcelDataCache(4);
+
+        ExcelTable first = cache.getTable(filePath, "Users");
+        ExcelTable second = cache.getTable(filePath, "Users");
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertThrows(UnsupportedOperationException.class, () -> first.get(1).put("username", "changed"));
+    }
+
+    @Test
+    @DisplayName("Test modified files are parsed again")
+    public void testModifiedFileInvalidatesEntry() throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("changing.xlsx"));
+        ExcelDataCache cache = new ExcelDataCache(4);
+
+        cache.getTable(filePath, "Users");
+        File file = new File(filePath);
+        assertTrue(file.setLastModified(file.lastModified() + 10_000));
+        cache.getTable(filePath, "Users");
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test least recently used sheets are evicted")
+    public void testLeastRecentlyUsedEviction() throws IOException {
+        String first = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("first.xlsx"));
+        String second = Files.copy(Path.of(first), tempDir.resolve("second.xlsx")).toString();
+        ExcelDataCache cache = new ExcelDataCache(1);
+
+        cache.getTable(first, "Users");
+        cache.getTable(second, "Users");
+        cache.getTable(first, "Users");
+
+        assertEquals(3, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tests for lazily bound test data
+ */
+public class ExcelDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test data is read on first access and memoized")
+    public void testLazyLoading() throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("lazy-data.xlsx"));
+
+        ExcelDataSource dataSource = ExcelDataSource.of(filePath, "Users");
+        assertFalse(dataSource.isLoaded());
+
+        Map<String, String> row = dataSource.getRow(2);
+        assertTrue(dataSource.isLoaded());
+        assertSame(row, dataSource.getRow(2));
+        assertEquals("user1", row.get("username"));
+        assertEquals("42", dataSource.getValue(1, "age"));
+        assertNull(dataSource.getRow(4));
+        assertNull(dataSource.getValue(1, "missing"));
+    }
+
+    @Test
+    @DisplayName("Test filtered data keeps only matching rows")
+    public void testWhereFiltersRows() throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("filtered-data.xlsx"));
+
+        ExcelDataSource scanned = ExcelDataSource.of(filePath, "Users").where("active", "false");
+
+        assertEquals(1, scanned.size());
+        assertNull(scanned.getRow(1));
+        assertEquals("user1", scanned.getValue(2, "username"));
+        assertEquals(30, scanned.table().getInt(2, "age"));
+        assertTrue(scanned.toString().endsWith("where active = false"));
+    }
+
+    @Test
+    @DisplayName("Test filtering a cached sheet matches a filtered scan")
+    public void testWhereOnCachedSheet() throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("cached-filter.xlsx"));
+        ExcelDataSource scanned = ExcelDataSource.of(filePath, "Users").where("age", value -> !value.equals("42"));
+        List<Map<String, String>> expected = List.copyOf(scanned.rows());
+
+        ExcelDataCache.getInstance().getTable(filePath, "Users");
+        ExcelDataSource filtered = ExcelDataSource.of(filePath, "Users").where("age", value -> !value.equals("42"));
+
+        assertEquals(expected, filtered.rows());
+        assertEquals(2, filtered.size());
+        assertThrows(IllegalArgumentException.class,
+                () -> ExcelDataSource.of(filePath, "Users").where("missing", "x").size());
+    }
+
+    @Test
+    @DisplayName("Test rows and sheets read are recorded for the current scenario")
+    public void testUsageRecording() throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("usage-data.xlsx"));
+
+        TestDataUsage.begin();
+        ExcelDataSource dataSource = ExcelDataSource.of(filePath, "Users");
+        dataSource.getValue(2, "username");
+        dataSource.getRow(3);
+        Set<TestDataUsage.Dependency> rowsOnly = TestDataUsage.end();
+
+        assertEquals(Set.of(new TestDataUsage.Dependency(filePath, "Users", 2),
+                new TestDataUsage.Dependency(filePath, "Users", 3)), rowsOnly);
+
+        TestDataUsage.begin();
+        dataSource.where("username", "admin").getRow(1);
+        dataSource.size();
+        assertEquals(Set.of(new TestDataUsage.Dependency(filePath, "Users", 0)), TestDataUsage.end());
+
+        // Outside a scenario nothing is recorded
+        dataSource.getValue(1, "age");
+        assertTrue(TestDataUsage.end().isEmpty());
+        assertEquals(new TestDataUsage.Dependency(filePath, null, 0),
+                TestDataUsage.Dependency.parse(new TestDataUsage.Dependency(filePath, null, 0).toString()));
+    }
+}
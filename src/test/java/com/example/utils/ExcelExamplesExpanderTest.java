@@ -0,0 +1,85 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for generating outline examples from workbook rows
+ */
+public class ExcelExamplesExpanderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test header-only examples are filled with the selected columns")
+    public void testFillExamplesHeader() throws IOException {
+        ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("users.xlsx"));
+        List<String> feature = List.of(
+                "Feature: Users",
+                "",
+                "  @smoke @excel:users.xlsx:Users",
+                "  Scenario Outline: Check user",
+                "    When I check <username> aged <age>",
+                "",
+                "    Examples:",
+                "      | rowNumber | username | age |",
+                "",
+                "  Scenario: Other",
+                "    When nothing");
+
+        List<String> expanded = ExcelExamplesExpander.expand(feature, tempDir);
+
+        assertEquals(List.of(
+                "Feature: Users",
+                "",
+                "  @smoke @excel:users.xlsx:Users",
+                "  Scenario Outline: Check user",
+                "    When I check <username> aged <age>",
+                "",
+                "    Examples:",
+                "      | rowNumber | username | age |",
+                "      | 1 | admin | 42 |",
+                "      | 2 | user1 | 30 |",
+                "      | 3 | user2 | 25 |",
+                "",
+                "  Scenario: Other",
+                "    When nothing"), expanded);
+    }
+
+    @Test
+    @DisplayName("Test outlines without examples get every column")
+    public void testAppendExamples() throws IOException {
+        ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("users.xlsx"));
+        List<String> feature = List.of(
+                "Feature: Users",
+                "  @excel:users.xlsx",
+                "  Scenario Outline: Check user",
+                "    When I check <username>");
+
+        List<String> expanded = ExcelExamplesExpander.expand(feature, tempDir);
+
+        assertEquals("    Examples: users.xlsx", expanded.get(5));
+        assertEquals("      | rowNumber | username | age | score | active | joined |", expanded.get(6));
+        assertTrue(expanded.get(9).startsWith("      | 3 | user2 | 25 | 1.25 |  |  |"));
+        assertEquals(10, expanded.size());
+    }
+
+    @Test
+    @DisplayName("Test untagged features and unknown columns")
+    public void testUntaggedAndInvalid() throws IOException {
+        ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("users.xlsx"));
+        List<String> untagged = List.of("Feature: Plain", "  Scenario Outline: X", "    Examples:", "      | a |");
+        assertEquals(untagged, ExcelExamplesExpander.expand(untagged, tempDir));
+
+        List<String> invalid = List.of("Feature: Bad", "  @excel:users.xlsx:Users", "  Scenario Outline: X",
+                "    Examples:", "      | password |");
+        assertThrows(IllegalArgumentException.class, () -> ExcelExamplesExpander.expand(invalid, tempDir));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.utils;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tests for sheet and row content hashes
+ */
+public class ExcelFingerprintTest {
+
+    @Test
+    @DisplayName("Test editing a cell only changes its row and the sheet hash")
+    public void testRowLevelChanges(@TempDir Path tempDir) throws IOException {
+        String original = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("original.xlsx"));
+        String edited = tempDir.resolve("edited.xlsx").toString();
+        try (FileInputStream in = new FileInputStream(original);
+             Workbook workbook = WorkbookFactory.create(in);
+             FileOutputStream out = new FileOutputStream(edited)) {
+            workbook.getSheet("Users").getRow(2).getCell(0).setCellValue("user9");
+            workbook.write(out);
+        }
+
+        ExcelFingerprint before = ExcelFingerprint.of(ExcelUtils.readExcelTable(original, "Users"));
+        ExcelFingerprint after = ExcelFingerprint.of(ExcelUtils.readExcelTable(edited, "Users"));
+
+        assertEquals(before.getRowHash(1), after.getRowHash(1));
+        assertNotEquals(before.getRowHash(2), after.getRowHash(2));
+        assertEquals(before.getRowHash(3), after.getRowHash(3));
+        assertNotEquals(before.getSheetHash(), after.getSheetHash());
+        assertNull(after.getRowHash(4));
+    }
+
+    @Test
+    @DisplayName("Test hashes are stable across reads")
+    public void testStableHashes(@TempDir Path tempDir) throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("stable.xlsx"));
+
+        ExcelFingerprint first = ExcelFingerprint.of(ExcelUtils.readExcelTable(filePath, "Users"));
+        ExcelFingerprint second = ExcelFingerprint.of(ExcelUtils.readExcelTable(filePath, "Users"));
+
+        assertEquals(first.getSheetHash(), second.getSheetHash());
+        assertEquals(first.getRowHash(2), second.getRowHash(2));
+        assertEquals(16, first.getSheetHash().length());
+    }
+}
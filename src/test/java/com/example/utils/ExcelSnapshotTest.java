@@ -0,0 +1,64 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tests for binary workbook snapshots
+ */
+public class ExcelSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void useTemporarySnapshotDirectory() {
+        System.setProperty(ExcelSnapshot.SNAPSHOT_DIR_PROPERTY, tempDir.resolve("snapshots").toString());
+    }
+
+    @AfterEach
+    public void restoreSnapshotDirectory() {
+        System.clearProperty(ExcelSnapshot.SNAPSHOT_DIR_PROPERTY);
+    }
+
+    @Test
+    @DisplayName("Test compiled snapshot loads the same data as the workbook")
+    public void testSnapshotRoundTrip() throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("snapshot-data.xlsx"));
+
+        assertNull(ExcelSnapshot.load(filePath, "Users"));
+        assertTrue(ExcelSnapshotCompiler.compile(filePath));
+
+        ExcelTable fromSnapshot = ExcelSnapshot.load(filePath, null);
+        assertNotNull(fromSnapshot);
+        assertEquals(ExcelTable.read(filePath, "Users").rows(), fromSnapshot.rows());
+        assertEquals(42, fromSnapshot.getInt(1, "age"));
+        assertEquals(9.5, fromSnapshot.getDouble(1, "score"));
+        assertTrue(fromSnapshot.isBlank(3, "active"));
+        assertEquals(0, ExcelSnapshot.load(filePath, "Empty").size());
+        assertNull(ExcelSnapshot.load(filePath, "Missing"));
+    }
+
+    @Test
+    @DisplayName("Test snapshot is ignored once the workbook changes")
+    public void testStaleSnapshotIsIgnored() throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("stale-data.xlsx"));
+        assertTrue(ExcelSnapshotCompiler.compile(filePath));
+
+        Files.write(Path.of(filePath), new byte[] {0}, StandardOpenOption.APPEND);
+        File snapshot = ExcelSnapshot.snapshotPathFor(filePath).toFile();
+        assertTrue(snapshot.setLastModified(new File(filePath).lastModified() + 10_000));
+
+        assertNull(ExcelSnapshot.load(filePath, "Users"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the columnar sheet representation
+ */
+public class ExcelTableTest {
+
+    @Test
+    @DisplayName("Test table rows match the Map of Maps reader")
+    public void testTableMatchesMapOfMaps(@TempDir Path tempDir) throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("table-data.xlsx"));
+        Map<Integer, Map<String, String>> expected = ExcelUtils.readExcelToMapOfMaps(filePath, "Users");
+
+        ExcelTable table = ExcelTable.read(filePath, "Users");
+
+        Map<Integer, Map<String, String>> actual = new LinkedHashMap<>();
+        table.forEach(actual::put);
+        assertEquals(expected, actual);
+        assertEquals(new ArrayList<>(expected.values()), table.rows());
+        assertEquals(List.of("username", "age", "score", "active", "joined"), table.getHeaders());
+        assertEquals("42", table.getValue(1, "age"));
+        assertNull(table.get(4));
+    }
+
+    @Test
+    @DisplayName("Test typed getters read cells without parsing text")
+    public void testTypedGetters(@TempDir Path tempDir) throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("typed-data.xlsx"));
+
+        ExcelTable table = ExcelTable.read(filePath, "Users");
+
+        assertEquals(42, table.getInt(1, "age"));
+        assertEquals(30L, table.getLong(2, "age"));
+        assertEquals(9.5, table.getDouble(1, "score"));
+        assertTrue(table.getBoolean(1, "active"));
+        assertFalse(table.getBoolean(2, "active"));
+        assertEquals(LocalDateTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault()).toLocalDate(),
+                table.getLocalDate(1, "joined"));
+        assertTrue(table.isBlank(3, "active"));
+        assertNull(table.getLocalDate(3, "joined"));
+        assertThrows(IllegalArgumentException.class, () -> table.getInt(1, "score"));
+        assertThrows(IllegalArgumentException.class, () -> table.getInt(1, "username"));
+        assertThrows(IllegalArgumentException.class, () -> table.getBoolean(3, "active"));
+        assertThrows(IllegalArgumentException.class, () -> table.getInt(1, "missing"));
+        assertThrows(IllegalArgumentException.class, () -> table.getInt(4, "age"));
+    }
+
+    @Test
+    @DisplayName("Test typed getters parse text columns")
+    public void testTypedGettersOnText() {
+        ExcelTable.Builder builder = new ExcelTable.Builder();
+        Map<String, String> row = new LinkedHashMap<>();
+        row.put("count", "7");
+        row.put("enabled", "TRUE");
+        row.put("date", "2024-02-29");
+        builder.add(1, row);
+
+        ExcelTable table = builder.build();
+
+        assertEquals(7, table.getInt(1, "count"));
+        assertTrue(table.getBoolean(1, "enabled"));
+        assertEquals(LocalDate.of(2024, 2, 29), table.getLocalDate(1, "date"));
+    }
+
+    @Test
+    @DisplayName("Test repeated values share one instance")
+    public void testRepeatedValuesAreDeduplicated() {
+        ExcelTable.Builder builder = new ExcelTable.Builder();
+        for (int rowNumber = 1; rowNumber <= 40; rowNumber++) {
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("id", String.valueOf(rowNumber));
+            row.put("status", new String(rowNumber % 2 == 0 ? "active" : "locked"));
+            builder.add(rowNumber, row);
+        }
+
+        ExcelTable table = builder.build();
+
+        assertEquals(40, table.size());
+        assertSame(table.getValue(2, "status"), table.getValue(40, "status"));
+        assertEquals("locked", table.get(39).get("status"));
+        assertThrows(UnsupportedOperationException.class, () -> table.get(1).remove("id"));
+    }
+}
@@ -3,9 +3,19 @@ package com.example.utils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -111,4 +121,114 @@ public class ExcelUtilsTest {
         
         assertTrue(true, "ExcelUtils specific row reading is available for use");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test streaming rows matches the workbook reader")
+    public void testStreamExcelRowsMatchesWorkbookReader(@TempDir Path tempDir) throws IOException {
+        String filePath = createSampleWorkbook(tempDir.resolve("stream-data.xlsx"));
+        
+        Map<Integer, Map<String, String>> streamed = new LinkedHashMap<>();
+        ExcelUtils.streamExcelRows(filePath, "Users", streamed::put);
+        
+        assertEquals(ExcelUtils.readExcelToMapOfMaps(filePath, "Users"), streamed);
+        assertEquals("admin", streamed.get(1).get("username"));
+        assertEquals("42", streamed.get(1).get("age"));
+        assertEquals("", streamed.get(3).get("active"));
+    }
+
+    @Test
+    @DisplayName("Test indexed row lookup matches the full sheet")
+    public void testReadExcelRowUsesIndex(@TempDir Path tempDir) throws IOException {
+        String filePath = createSampleWorkbook(tempDir.resolve("row-data.xlsx"));
+        Map<Integer, Map<String, String>> allData = ExcelUtils.readExcelToMapOfMaps(filePath, "Users");
+        
+        for (int rowNumber = 1; rowNumber <= 3; rowNumber++) {
+            assertEquals(allData.get(rowNumber), ExcelUtils.readExcelRow(filePath, "Users", rowNumber));
+        }
+        assertNull(ExcelUtils.readExcelRow(filePath, "Users", 4));
+        assertNull(ExcelUtils.readExcelRow(filePath, "Users", 0));
+    }
+
+    @Test
+    @DisplayName("Test formula cells use cached results unless evaluation is enabled")
+    public void testFormulaEvaluation(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("prices.xlsx").toString();
+        try (Workbook workbook = new XSSFWorkbook();
+             FileOutputStream out = new FileOutputStream(filePath)) {
+            Sheet sheet = workbook.createSheet("Prices");
+            Row header = sheet.createRow(0);
+            String[] headers = {"price", "qty", "total", "label", "expensive"};
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue(12);
+            row.createCell(1).setCellValue(2);
+            row.createCell(2).setCellFormula("A2*B2");
+            row.createCell(3).setCellFormula("\"x\"&A2");
+            row.createCell(4).setCellFormula("A2>10");
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            // Change an input without recalculating, so the cached results are stale
+            row.getCell(0).setCellValue(15);
+            workbook.write(out);
+        }
+        
+        Map<String, String> cached = ExcelUtils.readExcelToMapOfMaps(filePath, "Prices").get(1);
+        assertEquals("24.0", cached.get("total"));
+        assertEquals("x12", cached.get("label"));
+        assertEquals("true", cached.get("expensive"));
+        
+        System.setProperty(ExcelUtils.FORMULA_EVALUATE_PROPERTY, "true");
+        try {
+            Map<String, String> evaluated = ExcelUtils.readExcelToMapOfMaps(filePath, "Prices").get(1);
+            assertEquals("30.0", evaluated.get("total"));
+            assertEquals("x15", evaluated.get("label"));
+            assertEquals(30.0, ExcelTable.read(filePath, "Prices").getDouble(1, "total"));
+        } finally {
+            System.clearProperty(ExcelUtils.FORMULA_EVALUATE_PROPERTY);
+        }
+    }
+
+    /**
+     * Creates a small workbook with string, numeric, boolean, date and blank cells
+     */
+    static String createSampleWorkbook(Path path) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook();
+             FileOutputStream out = new FileOutputStream(path.toFile())) {
+            Sheet sheet = workbook.createSheet("Users");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            
+            Row header = sheet.createRow(0);
+            String[] headers = {"username", "age", "score", "active", "joined"};
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+            
+            Object[][] rows = {
+                {"admin", 42d, 9.5d, true, new Date(0)},
+                {" user1 ", 30d, 7d, false, new Date(86_400_000L)},
+                {"user2", 25d, 1.25d, null, null}
+            };
+            for (int r = 0; r < rows.length; r++) {
+                Row row = sheet.createRow(r + 1);
+                for (int c = 0; c < rows[r].length; c++) {
+                    Object value = rows[r][c];
+                    if (value instanceof String text) {
+                        row.createCell(c).setCellValue(text);
+                    } else if (value instanceof Double number) {
+                        row.createCell(c).setCellValue(number);
+                    } else if (value instanceof Boolean flag) {
+                        row.createCell(c).setCellValue(flag);
+                    } else if (value instanceof Date date) {
+                        row.createCell(c).setCellValue(date);
+                        row.getCell(c).setCellStyle(dateStyle);
+                    }
+                }
+            }
+            workbook.createSheet("Empty").createRow(0).createCell(0).setCellValue("id");
+            workbook.write(out);
+        }
+        return path.toString();
+    }
+}
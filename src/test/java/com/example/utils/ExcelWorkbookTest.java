@@ -0,0 +1,45 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the single-open workbook handle
+ */
+public class ExcelWorkbookTest {
+
+    @Test
+    @DisplayName("Test sheet names and row counts from one open workbook")
+    public void testSheetInformation(@TempDir Path tempDir) throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("workbook.xlsx"));
+
+        try (ExcelWorkbook workbook = ExcelWorkbook.open(filePath)) {
+            assertEquals(List.of("Users", "Empty"), workbook.getSheetNames());
+            assertEquals(3, workbook.getRowCount(null));
+            assertEquals(0, workbook.getRowCount("Empty"));
+            assertThrows(IllegalArgumentException.class, () -> workbook.getRowCount("Missing"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test reading all sheets in one pass")
+    public void testReadAllSheets(@TempDir Path tempDir) throws IOException {
+        String filePath = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("all-sheets.xlsx"));
+
+        Map<String, ExcelTable> sheets;
+        try (ExcelWorkbook workbook = ExcelWorkbook.open(filePath)) {
+            sheets = workbook.readAllSheets();
+        }
+
+        assertEquals(List.of("Users", "Empty"), List.copyOf(sheets.keySet()));
+        assertEquals(ExcelTable.read(filePath, "Users").rows(), sheets.get("Users").rows());
+        assertTrue(sheets.get("Empty").isEmpty());
+    }
+}
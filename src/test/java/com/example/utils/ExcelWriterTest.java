@@ -0,0 +1,68 @@
+package com.example.utils;
+
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Tests for the streaming result writer
+ */
+public class ExcelWriterTest {
+
+    @Test
+    @DisplayName("Test written rows are read back with their types")
+    public void testWriteAndReadBack(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("results/results.xlsx").toString();
+        try (ExcelWriter writer = ExcelWriter.open(filePath, "Results", List.of("scenario", "status", "millis", "date"))) {
+            writer.write("Login", new ExcelWriter.Highlight("PASSED", IndexedColors.LIGHT_GREEN), 1250, LocalDate.of(2024, 1, 15));
+            writer.write(Map.of("scenario", "Logout", "status", new ExcelWriter.Highlight("FAILED", IndexedColors.RED)));
+            writer.write(Arrays.asList("Dashboard", "PASSED", 2.5, null));
+        }
+
+        ExcelTable table = ExcelUtils.readExcelTable(filePath, "Results");
+        assertEquals(List.of("scenario", "status", "millis", "date"), table.getHeaders());
+        assertEquals(3, table.size());
+        assertEquals("PASSED", table.getValue(1, "status"));
+        assertEquals(1250, table.getInt(1, "millis"));
+        assertEquals(LocalDate.of(2024, 1, 15), table.getLocalDate(1, "date"));
+        assertEquals("FAILED", table.getValue(2, "status"));
+        assertTrue(table.isBlank(2, "millis"));
+        assertEquals(2.5, table.getDouble(3, "millis"));
+    }
+
+    @Test
+    @DisplayName("Test large streams are written beyond the in-memory row window")
+    public void testStreamedRows(@TempDir Path tempDir) throws IOException {
+        String filePath = tempDir.resolve("large.xlsx").toString();
+
+        int written = ExcelWriter.writeSheet(filePath, "Data", List.of("id", "name"),
+                IntStream.rangeClosed(1, 5000).mapToObj(i -> List.of(i, "name" + i)));
+
+        assertEquals(5000, written);
+        ExcelTable table = ExcelUtils.readExcelTable(filePath, "Data");
+        assertEquals(5000, table.size());
+        assertEquals("name5000", table.getValue(5000, "name"));
+        assertEquals(2500, table.getInt(2500, "id"));
+    }
+
+    @Test
+    @DisplayName("Test invalid columns and formats are rejected")
+    public void testInvalidInput(@TempDir Path tempDir) throws IOException {
+        assertThrows(IllegalArgumentException.class,
+                () -> ExcelWriter.open(tempDir.resolve("results.xls").toString(), "Results", List.of("a")));
+
+        try (ExcelWriter writer = ExcelWriter.open(tempDir.resolve("results.xlsx").toString(), "Results", List.of("a"))) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(Map.of("b", "value")));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Tests for the CSV and JSON lines data sources and format selection
+ */
+public class TestDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test the source is chosen by file extension")
+    public void testFormatSelection() throws IOException {
+        String workbook = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("users.xlsx"));
+
+        assertEquals(ExcelUtils.readExcelTable(workbook, "Users").rows(),
+                TestDataSource.forFile(workbook).readTable(workbook, "Users").rows());
+        assertTrue(TestDataSource.forFile("data/users.CSV").supports("data/users.CSV"));
+        assertTrue(TestDataSource.forFile("data/users.jsonl").supports("data/users.jsonl"));
+        assertThrows(IllegalArgumentException.class, () -> TestDataSource.forFile("data/users.txt"));
+    }
+
+    @Test
+    @DisplayName("Test upper-case Excel extensions are read like lower-case ones")
+    public void testUpperCaseExtension() throws IOException {
+        String lower = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("lower.xlsx"));
+        String upper = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("Upper.XLSX"));
+        TestDataSource source = TestDataSource.forFile(upper);
+        Map<Integer, Map<String, String>> streamed = new LinkedHashMap<>();
+
+        source.streamRows(upper, "Users", streamed::put);
+
+        assertEquals(ExcelUtils.readExcelToMapOfMaps(lower, "Users"), ExcelUtils.readExcelToMapOfMaps(upper, "Users"));
+        assertEquals(ExcelUtils.readExcelToMapOfMaps(lower, "Users"), streamed);
+        assertEquals(ExcelUtils.readExcelTable(lower, "Users").rows(), source.readTable(upper, "Users").rows());
+        assertEquals(ExcelUtils.getSheetNames(lower), source.getSheetInfo(upper, "Users").sheetNames());
+        assertTrue(ExcelUtils.isXls("legacy.XLS"));
+    }
+
+    @Test
+    @DisplayName("Test sheet information is read in one lookup")
+    public void testSheetInfo() throws IOException {
+        String workbook = ExcelUtilsTest.createSampleWorkbook(tempDir.resolve("info.xlsx"));
+        Path csv = tempDir.resolve("info.csv");
+        Files.writeString(csv, "username\nadmin\nuser1\n");
+
+        TestDataSource.SheetInfo excel = TestDataSource.forFile(workbook).getSheetInfo(workbook, "Users");
+        TestDataSource.SheetInfo text = TestDataSource.forFile(csv.toString()).getSheetInfo(csv.toString(), null);
+
+        assertEquals(ExcelUtils.getSheetNames(workbook), excel.sheetNames());
+        assertEquals(ExcelUtils.getRowCount(workbook, "Users"), excel.rowCount());
+        assertEquals(List.of("info"), text.sheetNames());
+        assertEquals(2, text.rowCount());
+    }
+
+    @Test
+    @DisplayName("Test CSV quoting, line endings and blank lines")
+    public void testCsv() throws IOException {
+        Path file = tempDir.resolve("users.csv");
+        String content = "\uFEFFusername,password, role \r\n"
+                + "admin,\"a,b\",admin\r\n"
+                + "\r\n"
+                + " user1 ,\"say \"\"hi\"\"\",\r\n"
+                + "user2,\"two\nlines\"\n"
+                + "user3,x,user";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        ExcelTable table = TestDataSource.forFile(file.toString()).readTable(file.toString(), null);
+
+        assertEquals(List.of("username", "password", "role"), table.getHeaders());
+        assertEquals(4, table.size());
+        assertEquals("a,b", table.getValue(1, "password"));
+        assertEquals("user1", table.getValue(2, "username"));
+        assertEquals("say \"hi\"", table.getValue(2, "password"));
+        assertTrue(table.isBlank(2, "role"));
+        assertEquals("two\nlines", table.getValue(3, "password"));
+        assertEquals("", table.getValue(3, "role"));
+        assertEquals("user", table.getValue(4, "role"));
+        assertEquals(List.of("users"), TestDataSource.forFile(file.toString()).getSheetNames(file.toString()));
+        assertThrows(IllegalArgumentException.class,
+                () -> TestDataSource.forFile(file.toString()).readTable(file.toString(), "Other"));
+    }
+
+    @Test
+    @DisplayName("Test CSV filters keep the original row numbers")
+    public void testCsvFilter() throws IOException {
+        Path file = tempDir.resolve("roles.tsv");
+        Files.writeString(file, "username\trole\nadmin\tadmin\nuser1\tuser\nuser2\tuser\n");
+        Map<String, Predicate<String>> conditions = new LinkedHashMap<>();
+        conditions.put("role", "user"::equals);
+
+        ExcelTable filtered = TestDataSource.forFile(file.toString()).readTable(file.toString(), "roles", conditions);
+
+        assertEquals(2, filtered.size());
+        assertNull(filtered.get(1));
+        assertEquals("user2", filtered.getValue(3, "username"));
+    }
+
+    @Test
+    @DisplayName("Test JSON lines values and types")
+    public void testJsonLines() throws IOException {
+        Path file = tempDir.resolve("users.jsonl");
+        Files.writeString(file, "{\"username\": \"admin\", \"age\": 42, \"active\": true, \"tags\": [\"a\", \"b\"]}\n"
+                + "\n"
+                + "{\"username\": \"user\\u0031\", \"age\": 30.5, \"active\": null}\n");
+
+        ExcelTable table = TestDataSource.forFile(file.toString()).readTable(file.toString(), null);
+
+        assertEquals(List.of("username", "age", "active", "tags"), table.getHeaders());
+        assertEquals(2, table.size());
+        assertEquals(42, table.getInt(1, "age"));
+        assertTrue(table.getBoolean(1, "active"));
+        assertEquals("[\"a\", \"b\"]", table.getValue(1, "tags"));
+        assertEquals("user1", table.getValue(2, "username"));
+        assertEquals(30.5, table.getDouble(2, "age"));
+        assertTrue(table.isBlank(2, "active"));
+        assertTrue(table.isBlank(2, "tags"));
+    }
+
+    @Test
+    @DisplayName("Test JSON lines records must use the columns of the first record")
+    public void testJsonLinesErrors() throws IOException {
+        Path unknownKey = tempDir.resolve("unknown.jsonl");
+        Files.writeString(unknownKey, "{\"a\": 1}\n{\"b\": 2}\n");
+        Path invalid = tempDir.resolve("invalid.ndjson");
+        Files.writeString(invalid, "{\"a\": 1,}\n");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TestDataSource.forFile(unknownKey.toString()).readTable(unknownKey.toString(), null));
+        assertThrows(IOException.class,
+                () -> TestDataSource.forFile(invalid.toString()).readTable(invalid.toString(), null));
+    }
+}
@@ -0,0 +1,9 @@
+Feature: CSV Data Handling
+  As a test automation engineer
+  I want to read test data from CSV files
+  So that data exported from other tools can drive tests without converting it to Excel
+
+  Scenario: Read test data from a CSV file
+    Given I have test data in file "src/test/resources/test-data/users.csv"
+    When I retrieve value from row 2 and column "password"
+    Then I should be able to access the Excel data
@@ -23,6 +23,11 @@ Feature: Excel Data Handling
     When I retrieve data from row 1
     Then I should be able to access the Excel data
 
+  Scenario: Read filtered Excel data
+    Given I have test data in Excel file "src/test/resources/test-data.xlsx" where "username" is "admin"
+    When I retrieve data from row 1
+    Then I should be able to access the Excel data
+
   # Example of data-driven testing using Excel data
   Scenario Outline: Login with Excel data
     Given I have test data in Excel file "src/test/resources/login-data.xlsx"
@@ -34,4 +39,14 @@ Feature: Excel Data Handling
       | rowNumber |
       | 1         |
       | 2         |
-      | 3         |
\ No newline at end of file
+      | 3         |
+
+  # Outlines tagged @excel:<workbook>:<sheet> get their examples from the workbook before the
+  # tests run (see ExcelExamplesExpander), one scenario per data row with its values bound, e.g.
+  #
+  #   @excel:login-data.xlsx:LoginData
+  #   Scenario Outline: Login as <username>
+  #     When I retrieve value from row <rowNumber> and column "username"
+  #
+  #     Examples:
+  #       | rowNumber | username | password |